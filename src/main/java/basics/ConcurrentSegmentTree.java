@@ -0,0 +1,151 @@
+package basics;
+
+import java.util.Arrays;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.BiFunction;
+
+/**
+ * Thread safe SegmentTree for many writer threads
+ *   - Each thread collects its point updates in its own buffer, a full buffer is applied with
+ *     SegmentTree.updateAll under the write lock, so each batch costs one pass over the affected nodes
+ *   - Queries run under the read lock and never see a batch half applied
+ *   - A query first flushes the calling thread's buffer, so a thread always reads its own writes.
+ *     Updates still buffered by other threads become visible at their next flush or at flushAll()
+ *   - Updates to the same index from different threads are ordered by when their batches are flushed
+ *   - A buffer is only registered for flushAll() while it holds pending updates and is dropped from the
+ *     registry when flushed, the thread itself keeps it in its ThreadLocal. Buffers of threads that died
+ *     are therefore only reachable until their pending updates are flushed, and flushAll() never scans
+ *     the empty buffers of idle or recycled threads.
+ */
+@SuppressWarnings("unchecked")
+public class ConcurrentSegmentTree<T> {
+
+    private final SegmentTree<T> tree;
+    private final int size;
+    private final int batchSize;
+    private final ReentrantReadWriteLock lock;
+    private final ThreadLocal<Buffer> buffers;
+    private final Set<Buffer> pendingBuffers;
+
+    public ConcurrentSegmentTree(T[] elements, BiFunction<T, T, T> segmentFunction, int batchSize) {
+        if (batchSize < 1) {
+            throw new IllegalArgumentException("Batch size must be positive");
+        }
+        this.tree = new SegmentTree<>(elements, segmentFunction);
+        this.size = elements.length;
+        this.batchSize = batchSize;
+        this.lock = new ReentrantReadWriteLock();
+        this.pendingBuffers = ConcurrentHashMap.newKeySet();
+        this.buffers = ThreadLocal.withInitial(() -> new Buffer(batchSize));
+    }
+
+    public void update(int index, T value) {
+        // Checked here, a bad index found at flush time would fail some other caller's query
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        Buffer buffer = buffers.get();
+        boolean full;
+        synchronized (buffer) {
+            // First pending update, make the buffer visible to flushAll()
+            if (buffer.count == 0) {
+                pendingBuffers.add(buffer);
+            }
+            buffer.add(index, value);
+            full = buffer.count >= batchSize;
+        }
+        if (full) {
+            flush(buffer);
+        }
+    }
+
+    public T query(int left, int right) {
+        flush(buffers.get());
+        lock.readLock().lock();
+        try {
+            return tree.query(left, right);
+        } finally {
+            lock.readLock().unlock();
+        }
+    }
+
+    /**
+     * Applies the pending updates of the calling thread
+     */
+    public void flush() {
+        flush(buffers.get());
+    }
+
+    /**
+     * Applies the pending updates of every thread
+     */
+    public void flushAll() {
+        for (Buffer buffer: pendingBuffers) {
+            flush(buffer);
+        }
+    }
+
+    private void flush(Buffer buffer) {
+        // Cheap unlocked check, a racing add is picked up by its own thread
+        if (buffer.count == 0) return;
+        lock.writeLock().lock();
+        try {
+            synchronized (buffer) {
+                try {
+                    tree.updateAll(buffer.indices, buffer.values, buffer.count);
+                } finally {
+                    // Never leave a failed batch behind, it would fail every later flush
+                    Arrays.fill(buffer.values, 0, buffer.count, null);
+                    buffer.count = 0;
+                    pendingBuffers.remove(buffer);
+                }
+            }
+        } finally {
+            lock.writeLock().unlock();
+        }
+    }
+
+    private static class Buffer {
+        private final int[] indices;
+        private final Object[] values;
+        private volatile int count;
+
+        private Buffer(int capacity) {
+            this.indices = new int[capacity];
+            this.values = new Object[capacity];
+            this.count = 0;
+        }
+
+        // Callers hold the buffer monitor, the owning thread flushes as soon as the buffer is full
+        private void add(int index, Object value) {
+            indices[count] = index;
+            values[count] = value;
+            count++;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        Integer[] arr = new Integer[1000];
+        Arrays.fill(arr, 0);
+        ConcurrentSegmentTree<Integer> st = new ConcurrentSegmentTree<>(arr, Integer::sum, 64);
+
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            int offset = t;
+            writers[t] = new Thread(() -> {
+                for (int i = offset; i < arr.length; i += writers.length) {
+                    st.update(i, 1);
+                }
+            }, "writer-" + t);
+            writers[t].start();
+        }
+        for (Thread writer: writers) {
+            writer.join();
+        }
+
+        st.flushAll();
+        System.out.println("Range Sum (0-999): " + st.query(0, 999)); // Output: 1000
+    }
+}
@@ -0,0 +1,242 @@
+package basics;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.Iterator;
+import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+
+/**
+ * Trie that can be read while other threads insert, readers never take a lock
+ *   - Child slots are published with compareAndExchange through a VarHandle on the plain children array,
+ *     a losing writer just continues down the node that won, which the exchange returns
+ *   - Each word node records the insert version that made it a word (0 = not a word),
+ *     search reads it with acquire semantics so a visible word is always fully linked
+ *   - Only an insert that actually adds a word takes a version: it first claims the node by moving 0 to CLAIMED,
+ *     so re-inserting an existing word (or losing that race) leaves the version counter alone
+ *   - snapshot() gives a consistent view for iteration: it only sees words whose version is not newer
+ *     than the snapshot. Inserts share the read side of a lock and snapshot() briefly takes the write side,
+ *     so when it reads the version counter no insert is half done. Searches never touch this lock.
+ *   - startsWith on the live trie can already see the path of a word whose insert is still running
+ */
+public class ConcurrentTrie {
+
+    private static final VarHandle CHILDREN = MethodHandles.arrayElementVarHandle(Node[].class);
+    private static final VarHandle WORD_VERSION;
+
+    static {
+        try {
+            WORD_VERSION = MethodHandles.lookup().findVarHandle(Node.class, "wordVersion", long.class);
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    // Word version of a node whose insert is taking its version, readers treat it as not a word yet
+    private static final long CLAIMED = -1;
+
+    private final Node root;
+    private final AtomicLong version;
+    private final ReentrantReadWriteLock snapshotLock;
+
+    public ConcurrentTrie() {
+        this.root = new Node();
+        this.version = new AtomicLong();
+        this.snapshotLock = new ReentrantReadWriteLock();
+    }
+
+    public void insert(String word) {
+        snapshotLock.readLock().lock();
+        try {
+            Node node = root;
+            for (int i = 0; i < word.length(); i++) {
+                node = node.getOrAddChild(word.charAt(i));
+            }
+            // Keep the version of the first insert, a word does not move forward in time
+            if (node.getWordVersion() == 0 && WORD_VERSION.compareAndSet(node, 0L, CLAIMED)) {
+                WORD_VERSION.setRelease(node, version.incrementAndGet());
+            }
+            // A concurrent insert of the same word holds the claim for a moment, wait so search finds it on return
+            while (node.getWordVersion() == CLAIMED) {
+                Thread.onSpinWait();
+            }
+        } finally {
+            snapshotLock.readLock().unlock();
+        }
+    }
+
+    public boolean search(String word) {
+        Node node = findNode(root, word);
+        return node != null && node.getWordVersion() > 0;
+    }
+
+    public boolean startsWith(String prefix) {
+        return findNode(root, prefix) != null;
+    }
+
+    public Snapshot snapshot() {
+        snapshotLock.writeLock().lock();
+        try {
+            return new Snapshot(root, version.get());
+        } finally {
+            snapshotLock.writeLock().unlock();
+        }
+    }
+
+    private static Node findNode(Node root, String prefix) {
+        Node node = root;
+        for (int i = 0; i < prefix.length() && node != null; i++) {
+            node = node.getChild(prefix.charAt(i));
+        }
+        return node;
+    }
+
+    /**
+     * Read only view of the words inserted before the snapshot was taken
+     */
+    public static class Snapshot {
+        private final Node root;
+        private final long version;
+
+        private Snapshot(Node root, long version) {
+            this.root = root;
+            this.version = version;
+        }
+
+        public boolean search(String word) {
+            Node node = findNode(root, word);
+            return node != null && visible(node);
+        }
+
+        public boolean startsWith(String prefix) {
+            // Nodes added after the snapshot can exist on the path, so look for a visible word below
+            return wordsWithPrefix(prefix).hasNext();
+        }
+
+        /**
+         * Lazily enumerates the words of this snapshot starting with the prefix in lexicographic order
+         */
+        public Iterator<String> wordsWithPrefix(String prefix) {
+            return new SnapshotIterator(this, findNode(root, prefix), prefix);
+        }
+
+        public List<String> words() {
+            List<String> words = new ArrayList<>();
+            wordsWithPrefix("").forEachRemaining(words::add);
+            return words;
+        }
+
+        private boolean visible(Node node) {
+            long wordVersion = node.getWordVersion();
+            return wordVersion > 0 && wordVersion <= version;
+        }
+    }
+
+    private static class SnapshotIterator implements Iterator<String> {
+        private final Snapshot snapshot;
+        private final Deque<Node> nodes = new ArrayDeque<>();
+        private final Deque<String> texts = new ArrayDeque<>();
+        private String next;
+
+        private SnapshotIterator(Snapshot snapshot, Node start, String prefix) {
+            this.snapshot = snapshot;
+            if (start != null) {
+                nodes.push(start);
+                texts.push(prefix);
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            String word = next;
+            advance();
+            return word;
+        }
+
+        private void advance() {
+            next = null;
+            while (next == null && !nodes.isEmpty()) {
+                Node node = nodes.pop();
+                String text = texts.pop();
+                for (int c = Node.ALPHABET - 1; c >= 0; c--) {
+                    Node child = node.getChild((char) c);
+                    if (child != null) {
+                        nodes.push(child);
+                        texts.push(text + (char) c);
+                    }
+                }
+                if (snapshot.visible(node)) {
+                    next = text;
+                }
+            }
+        }
+    }
+
+    private static class Node {
+        private static final int ALPHABET = 128;
+
+        private final Node[] children;
+        @SuppressWarnings("unused") // accessed through WORD_VERSION
+        private long wordVersion;
+
+        private Node() {
+            this.children = new Node[ALPHABET];
+            this.wordVersion = 0;
+        }
+
+        private Node getChild(char c) {
+            if (c >= ALPHABET) return null;
+            return (Node) CHILDREN.getAcquire(children, (int) c);
+        }
+
+        private Node getOrAddChild(char c) {
+            if (c >= ALPHABET) {
+                throw new IllegalArgumentException("Only ASCII characters are supported: " + c);
+            }
+            Node child = getChild(c);
+            if (child != null) return child;
+            Node created = new Node();
+            Node witness = (Node) CHILDREN.compareAndExchange(children, (int) c, (Node) null, created);
+            // Another writer won the slot, continue down its node
+            return witness == null ? created : witness;
+        }
+
+        private long getWordVersion() {
+            return (long) WORD_VERSION.getAcquire(this);
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        ConcurrentTrie trie = new ConcurrentTrie();
+        trie.insert("apple");
+        trie.insert("ball");
+
+        Snapshot snapshot = trie.snapshot();
+        Thread writer = new Thread(() -> {
+            trie.insert("bat");
+            trie.insert("bath");
+        }, "writer");
+        writer.start();
+        writer.join();
+
+        System.out.println("Search for bat, found: " + trie.search("bat"));
+        System.out.println("Snapshot search for bat, found: " + snapshot.search("bat"));
+        System.out.println("Snapshot prefix search for bat, found: " + snapshot.startsWith("bat"));
+        System.out.println("Snapshot words: " + snapshot.words());
+        System.out.println("Current words: " + trie.snapshot().words());
+    }
+}
@@ -0,0 +1,133 @@
+package basics;
+
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock free union find over int ids 0..n-1 for unioning edges from many threads
+ *   - parent links live in an AtomicIntegerArray, a root is linked with a single compareAndSet,
+ *     a failed CAS means another thread changed that root and the union simply retries
+ *   - find() compresses with path halving done by CAS: a node only ever skips to one of its own ancestors,
+ *     so a lost race leaves a correct, just less compressed, tree
+ *   - Roots are linked by a fixed pseudo random priority per id (Jayanti-Tarjan style randomized linking),
+ *     which keeps trees shallow without a rank array and can never form a cycle
+ *   - find/union/sameSet can run concurrently, getSize() is exact once concurrent unions are done
+ */
+public class ConcurrentUnionFind {
+
+    private final AtomicIntegerArray parent;
+    private final int elements;
+    private final LongAdder merges;
+
+    public ConcurrentUnionFind(int elements) {
+        this.elements = elements;
+        this.parent = new AtomicIntegerArray(elements);
+        this.merges = new LongAdder();
+        for (int i = 0; i < elements; i++) {
+            parent.set(i, i);
+        }
+    }
+
+    public int find(int element) {
+        checkElement(element);
+        while (true) {
+            int p = parent.get(element);
+            if (p == element) return element;
+            int gp = parent.get(p);
+            if (p != gp) {
+                // Path halving, skip to the grandparent if nobody changed the link meanwhile
+                parent.compareAndSet(element, p, gp);
+            }
+            element = gp;
+        }
+    }
+
+    /**
+     * Merges the sets of both elements, returns false if they were already in the same set
+     */
+    public boolean union(int element1, int element2) {
+        while (true) {
+            int rep1 = find(element1);
+            int rep2 = find(element2);
+            if (rep1 == rep2) return false;
+            // Always link the lower priority root under the higher one
+            if (before(rep2, rep1)) {
+                int temp = rep1;
+                rep1 = rep2;
+                rep2 = temp;
+            }
+            if (parent.compareAndSet(rep1, rep1, rep2)) {
+                merges.increment();
+                return true;
+            }
+            // rep1 stopped being a root in the meantime, retry from the new roots
+        }
+    }
+
+    public boolean sameSet(int element1, int element2) {
+        while (true) {
+            int rep1 = find(element1);
+            int rep2 = find(element2);
+            if (rep1 == rep2) return true;
+            // rep1 still a root means the two were really apart at this point
+            if (parent.get(rep1) == rep1) return false;
+        }
+    }
+
+    /**
+     * Number of disjoint sets
+     */
+    public int getSize() {
+        return elements - (int) merges.sum();
+    }
+
+    public int elementCount() {
+        return elements;
+    }
+
+    private static boolean before(int a, int b) {
+        int pa = priority(a);
+        int pb = priority(b);
+        return pa < pb || (pa == pb && a < b);
+    }
+
+    // Murmur3 finalizer, spreads consecutive ids into unrelated priorities
+    private static int priority(int id) {
+        int h = id;
+        h ^= h >>> 16;
+        h *= 0x85ebca6b;
+        h ^= h >>> 13;
+        h *= 0xc2b2ae35;
+        h ^= h >>> 16;
+        return h;
+    }
+
+    private void checkElement(int element) {
+        if (element < 0 || element >= elements) {
+            throw new IndexOutOfBoundsException("Element " + element + " out of bounds for " + elements + " elements");
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int nodes = 100_000;
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(nodes);
+
+        // Four threads each link a stride of the nodes into one long path
+        Thread[] workers = new Thread[4];
+        for (int t = 0; t < workers.length; t++) {
+            int offset = t;
+            workers[t] = new Thread(() -> {
+                for (int i = offset; i + 1 < nodes; i += workers.length) {
+                    unionFind.union(i, i + 1);
+                }
+            }, "worker-" + t);
+            workers[t].start();
+        }
+        for (Thread worker: workers) {
+            worker.join();
+        }
+
+        System.out.println("Total Sets: " + unionFind.getSize()); // Output: 1
+        System.out.println("0 and " + (nodes - 1) + " connected: " + unionFind.sameSet(0, nodes - 1)); // Output: true
+    }
+}
@@ -0,0 +1,247 @@
+package basics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.List;
+
+/**
+ * Heap where every node has d children instead of 2 (default 4)
+ *   - Tree is log_d(n) levels deep, so sifting down touches fewer levels
+ *     and the d children of a node sit next to each other in the array
+ *   - Bulk build uses Floyd's bottom-up heapify in O(n) instead of n adds in O(n log n)
+ *   - Sifting is iterative, the moved element is written once at its final slot
+ *   - Capacity can be presized, grows by doubling and shrinks when the heap gets mostly empty
+ */
+@SuppressWarnings("unchecked")
+public class DaryHeap<T> {
+
+    private static final int DEFAULT_ARITY = 4;
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private final int arity;
+    private Object[] array;
+    private int size;
+    private final Comparator<T> cmp;
+
+    public DaryHeap(Comparator<T> comparator) {
+        this(comparator, DEFAULT_ARITY, DEFAULT_CAPACITY);
+    }
+
+    public DaryHeap(Comparator<T> comparator, int arity, int initialCapacity) {
+        if (arity < 2) {
+            throw new IllegalArgumentException("Arity must be at least 2");
+        }
+        if (initialCapacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.arity = arity;
+        this.array = new Object[initialCapacity];
+        this.size = 0;
+        this.cmp = comparator;
+    }
+
+    /**
+     * Builds a heap from all elements in O(n)
+     */
+    public static <T> DaryHeap<T> from(Collection<? extends T> elements, Comparator<T> comparator) {
+        return from(elements, comparator, DEFAULT_ARITY);
+    }
+
+    public static <T> DaryHeap<T> from(Collection<? extends T> elements, Comparator<T> comparator, int arity) {
+        return build(elements.toArray(), comparator, arity);
+    }
+
+    public static <T> DaryHeap<T> from(T[] elements, Comparator<T> comparator) {
+        return from(elements, comparator, DEFAULT_ARITY);
+    }
+
+    public static <T> DaryHeap<T> from(T[] elements, Comparator<T> comparator, int arity) {
+        return build(elements, comparator, arity);
+    }
+
+    private static <T> DaryHeap<T> build(Object[] elements, Comparator<T> comparator, int arity) {
+        DaryHeap<T> heap = new DaryHeap<>(comparator, arity, Math.max(1, elements.length));
+        System.arraycopy(elements, 0, heap.array, 0, elements.length);
+        heap.size = elements.length;
+        heap.heapify();
+        return heap;
+    }
+
+    public void add(T element) {
+        if (size == array.length) {
+            array = Arrays.copyOf(array, 2 * array.length);
+        }
+        heapifyUp(size, element);
+        size++;
+    }
+
+    public void addAll(Collection<? extends T> elements) {
+        ensureCapacity(size + elements.size());
+        // Appending and re-heapifying beats one add per element when the batch is large
+        if (elements.size() > size) {
+            for (T element: elements) {
+                array[size++] = element;
+            }
+            heapify();
+        } else {
+            for (T element: elements) {
+                add(element);
+            }
+        }
+    }
+
+    public T remove() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        T root = (T) array[0];
+        size--;
+        Object last = array[size];
+        array[size] = null;
+        if (size > 0) {
+            heapifyDown(0, (T) last);
+        }
+        // Shrink once the heap is a quarter full so drained heaps give their memory back
+        if (array.length > DEFAULT_CAPACITY && size < array.length / 4) {
+            array = Arrays.copyOf(array, Math.max(DEFAULT_CAPACITY, array.length / 2));
+        }
+        return root;
+    }
+
+    public T peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return (T) array[0];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void ensureCapacity(int capacity) {
+        if (capacity > array.length) {
+            array = Arrays.copyOf(array, Math.max(capacity, 2 * array.length));
+        }
+    }
+
+    public void trimToSize() {
+        if (size < array.length) {
+            array = Arrays.copyOf(array, Math.max(1, size));
+        }
+    }
+
+    /**
+     * Removes all elements in heap order into the given array and returns it, the heap is left empty
+     * Runs in place on the heap array, no extra memory besides the result
+     */
+    public T[] drainTo(T[] result) {
+        if (result.length < size) {
+            result = Arrays.copyOf(result, size);
+        }
+        int count = size;
+        sortDown();
+        for (int i = 0; i < count; i++) {
+            result[i] = (T) array[count - 1 - i];
+            array[count - 1 - i] = null;
+        }
+        if (result.length > count) {
+            result[count] = null;
+        }
+        return result;
+    }
+
+    public List<T> drainToList() {
+        List<T> result = new ArrayList<>(size);
+        while (!isEmpty()) {
+            result.add(remove());
+        }
+        return result;
+    }
+
+    /**
+     * Sorts the array in place according to the comparator using a d-ary heapsort
+     */
+    public static <T> void heapSort(T[] elements, Comparator<T> comparator) {
+        heapSort(elements, comparator, DEFAULT_ARITY);
+    }
+
+    public static <T> void heapSort(T[] elements, Comparator<T> comparator, int arity) {
+        // Max heap directly over the caller's array, every removed maximum lands at the end
+        DaryHeap<T> heap = new DaryHeap<>(comparator.reversed(), arity, 1);
+        heap.array = elements;
+        heap.size = elements.length;
+        heap.heapify();
+        heap.sortDown();
+    }
+
+    // Heapsort: each removed root goes to the slot freed at the end of the heap,
+    // which leaves the array in reverse heap order and the heap empty
+    private void sortDown() {
+        while (size > 0) {
+            T root = (T) array[0];
+            size--;
+            T last = (T) array[size];
+            if (size > 0) {
+                heapifyDown(0, last);
+            }
+            array[size] = root;
+        }
+    }
+
+    // Floyd: sift down every internal node starting from the last one
+    private void heapify() {
+        if (size < 2) return;
+        for (int index = (size - 2) / arity; index >= 0; index--) {
+            heapifyDown(index, (T) array[index]);
+        }
+    }
+
+    private void heapifyUp(int index, T element) {
+        while (index > 0) {
+            int pIndex = (index - 1) / arity;
+            Object parent = array[pIndex];
+            if (cmp.compare(element, (T) parent) >= 0) break;
+            array[index] = parent;
+            index = pIndex;
+        }
+        array[index] = element;
+    }
+
+    private void heapifyDown(int index, T element) {
+        while (true) {
+            int firstChild = arity * index + 1;
+            if (firstChild >= size) break;
+            int lastChild = Math.min(firstChild + arity, size);
+            int candidate = firstChild;
+            Object best = array[firstChild];
+            for (int child = firstChild + 1; child < lastChild; child++) {
+                Object next = array[child];
+                if (cmp.compare((T) next, (T) best) < 0) {
+                    candidate = child;
+                    best = next;
+                }
+            }
+            if (cmp.compare((T) best, element) >= 0) break;
+            array[index] = best;
+            index = candidate;
+        }
+        array[index] = element;
+    }
+
+    public static void main(String[] args) {
+        DaryHeap<Integer> minHeap = DaryHeap.from(List.of(4, 7, 2, 9, 1, 8, 3, 6, 5), Integer::compare);
+        minHeap.add(0);
+        System.out.println("Sorted: " + minHeap.drainToList());
+
+        Integer[] arr = {5, 3, 9, 1, 7, 2, 8};
+        DaryHeap.heapSort(arr, Integer::compare);
+        System.out.println("Heap sorted: " + Arrays.toString(arr));
+    }
+}
@@ -0,0 +1,130 @@
+package basics;
+
+import java.util.Arrays;
+
+/**
+ * Min heap specialized for double keys, with an optional int payload per key
+ *   - Keys and payloads live in parallel int[] arrays, so there is no boxing and no allocation per add/remove
+ *   - Comparisons are plain double compares instead of Comparator calls
+ *   - The payload of the root can be read via peekValue() before calling remove()
+ *   - NaN keys are not ordered and should not be added
+ */
+public class DoubleHeap {
+
+    private int capacity;
+    private double[] keys;
+    private int[] values;
+    private int size;
+
+    public DoubleHeap() {
+        this(1000);
+    }
+
+    public DoubleHeap(int capacity) {
+        if (capacity < 1) {
+            throw new IllegalArgumentException("Capacity must be positive");
+        }
+        this.capacity = capacity;
+        this.keys = new double[capacity];
+        this.values = new int[capacity];
+        this.size = 0;
+    }
+
+    public void add(double key) {
+        add(key, 0);
+    }
+
+    public void add(double key, int value) {
+        if (size == capacity) {
+            capacity = 2 * capacity;
+            keys = Arrays.copyOf(keys, capacity);
+            values = Arrays.copyOf(values, capacity);
+        }
+        heapifyUp(size, key, value);
+        size++;
+    }
+
+    public double remove() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        double root = keys[0];
+        size--;
+        if (size > 0) {
+            heapifyDown(0, keys[size], values[size]);
+        }
+        return root;
+    }
+
+    public double peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return keys[0];
+    }
+
+    public int peekValue() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return values[0];
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public void clear() {
+        size = 0;
+    }
+
+    // Moves the hole up instead of swapping, the entry is written once at its final slot
+    private void heapifyUp(int index, double key, int value) {
+        while (index > 0) {
+            int pIndex = (index - 1) / 2;
+            if (key >= keys[pIndex]) break;
+            keys[index] = keys[pIndex];
+            values[index] = values[pIndex];
+            index = pIndex;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    private void heapifyDown(int index, double key, int value) {
+        int half = size / 2;
+        while (index < half) {
+            int candidate = 2 * index + 1;
+            int rcIndex = candidate + 1;
+            if (rcIndex < size && keys[rcIndex] < keys[candidate]) {
+                candidate = rcIndex;
+            }
+            if (key <= keys[candidate]) break;
+            keys[index] = keys[candidate];
+            values[index] = values[candidate];
+            index = candidate;
+        }
+        keys[index] = key;
+        values[index] = value;
+    }
+
+    public static void main(String[] args) {
+        DoubleHeap minHeap = new DoubleHeap();
+        minHeap.add(4.5, 40);
+        minHeap.add(7.5, 70);
+        minHeap.add(2.5, 20);
+        minHeap.add(9.5, 90);
+        minHeap.add(1.5, 10);
+
+        StringBuilder sorted = new StringBuilder();
+        while (!minHeap.isEmpty()) {
+            sorted.append(minHeap.peek()).append("=").append(minHeap.peekValue()).append(" ");
+            minHeap.remove();
+        }
+        System.out.println("Sorted: " + sorted.toString().trim());
+    }
+}
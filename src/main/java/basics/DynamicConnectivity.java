@@ -0,0 +1,190 @@
+package basics;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Offline dynamic connectivity: answers "are u and v connected right now" over a timeline of edge
+ * insertions and deletions, once the whole timeline is known
+ *   - Every operation is one time step, each edge is alive over the interval between its add and remove
+ *   - The interval is stored in O(log q) nodes of a segment tree over time, then a DFS over that tree
+ *     unions the edges of a node on the way down and rolls them back on the way up,
+ *     so at each leaf the RollbackUnionFind holds exactly the edges alive at that time
+ *   - O((n + q) log q log n) overall, log n per find since rollback rules out path compression
+ *   - Edges are undirected, adding the same edge twice needs two removes
+ */
+public class DynamicConnectivity {
+
+    private static final int ADD = 0;
+    private static final int REMOVE = 1;
+    private static final int QUERY = 2;
+
+    private final int nodes;
+    private int[] types;
+    private int[] us;
+    private int[] vs;
+    private int operations;
+    private int queries;
+
+    public DynamicConnectivity(int nodes) {
+        this.nodes = nodes;
+        this.types = new int[16];
+        this.us = new int[16];
+        this.vs = new int[16];
+        this.operations = 0;
+        this.queries = 0;
+    }
+
+    public void addEdge(int u, int v) {
+        record(ADD, u, v);
+    }
+
+    public void removeEdge(int u, int v) {
+        record(REMOVE, u, v);
+    }
+
+    /**
+     * Asks whether u and v are connected at this point of the timeline, returns the query's index in solve()
+     */
+    public int query(int u, int v) {
+        record(QUERY, u, v);
+        return queries++;
+    }
+
+    /**
+     * Answers all queries, in the order they were asked
+     */
+    public boolean[] solve() {
+        boolean[] answers = new boolean[queries];
+        if (operations == 0) return answers;
+
+        // Pair every removal with the latest matching add to get alive intervals [start, end)
+        EdgeLists segments = new EdgeLists(4 * operations);
+        Map<Long, Deque<Integer>> open = new HashMap<>();
+        for (int time = 0; time < operations; time++) {
+            if (types[time] == QUERY) continue;
+            long key = edgeKey(us[time], vs[time]);
+            if (types[time] == ADD) {
+                open.computeIfAbsent(key, k -> new ArrayDeque<>()).push(time);
+            } else {
+                Deque<Integer> starts = open.get(key);
+                if (starts == null || starts.isEmpty()) {
+                    throw new IllegalStateException("Edge (" + us[time] + ", " + vs[time] + ") removed at time " + time + " was never added");
+                }
+                int start = starts.pop();
+                insert(segments, 1, 0, operations - 1, start, time - 1, start);
+            }
+        }
+        // Edges never removed stay alive to the end
+        for (Deque<Integer> starts: open.values()) {
+            for (int start: starts) {
+                insert(segments, 1, 0, operations - 1, start, operations - 1, start);
+            }
+        }
+
+        int[] queryIndex = new int[operations];
+        for (int time = 0, q = 0; time < operations; time++) {
+            if (types[time] == QUERY) queryIndex[time] = q++;
+        }
+        solve(segments, new RollbackUnionFind(nodes), 1, 0, operations - 1, queryIndex, answers);
+        return answers;
+    }
+
+    // Adds the edge added at time `edge` to every segment node covering part of [from, to]
+    private void insert(EdgeLists segments, int node, int start, int end, int from, int to, int edge) {
+        if (to < start || from > end || from > to) return;
+        if (from <= start && end <= to) {
+            segments.add(node, edge);
+            return;
+        }
+        int mid = (start + end) / 2;
+        insert(segments, 2 * node, start, mid, from, to, edge);
+        insert(segments, 2 * node + 1, mid + 1, end, from, to, edge);
+    }
+
+    private void solve(EdgeLists segments, RollbackUnionFind unionFind, int node, int start, int end,
+                       int[] queryIndex, boolean[] answers) {
+        int checkpoint = unionFind.checkpoint();
+        for (int i = 0; i < segments.size(node); i++) {
+            int edge = segments.get(node, i);
+            unionFind.union(us[edge], vs[edge]);
+        }
+        if (start == end) {
+            if (types[start] == QUERY) {
+                answers[queryIndex[start]] = unionFind.sameSet(us[start], vs[start]);
+            }
+        } else {
+            int mid = (start + end) / 2;
+            solve(segments, unionFind, 2 * node, start, mid, queryIndex, answers);
+            solve(segments, unionFind, 2 * node + 1, mid + 1, end, queryIndex, answers);
+        }
+        unionFind.rollbackTo(checkpoint);
+    }
+
+    private void record(int type, int u, int v) {
+        if (u < 0 || u >= nodes || v < 0 || v >= nodes) {
+            throw new IndexOutOfBoundsException("Edge (" + u + ", " + v + ") out of bounds for " + nodes + " nodes");
+        }
+        if (operations == types.length) {
+            int capacity = 2 * types.length;
+            types = Arrays.copyOf(types, capacity);
+            us = Arrays.copyOf(us, capacity);
+            vs = Arrays.copyOf(vs, capacity);
+        }
+        types[operations] = type;
+        us[operations] = u;
+        vs[operations] = v;
+        operations++;
+    }
+
+    private static long edgeKey(int u, int v) {
+        return ((long) Math.min(u, v) << 32) | Math.max(u, v);
+    }
+
+    // Growable int lists per segment tree node, without boxing
+    private static class EdgeLists {
+        private final int[][] lists;
+        private final int[] sizes;
+
+        private EdgeLists(int nodes) {
+            this.lists = new int[nodes][];
+            this.sizes = new int[nodes];
+        }
+
+        private void add(int node, int value) {
+            if (lists[node] == null) {
+                lists[node] = new int[2];
+            } else if (sizes[node] == lists[node].length) {
+                lists[node] = Arrays.copyOf(lists[node], 2 * sizes[node]);
+            }
+            lists[node][sizes[node]++] = value;
+        }
+
+        private int size(int node) {
+            return sizes[node];
+        }
+
+        private int get(int node, int index) {
+            return lists[node][index];
+        }
+    }
+
+    public static void main(String[] args) {
+        DynamicConnectivity connectivity = new DynamicConnectivity(4);
+        connectivity.addEdge(0, 1);
+        connectivity.addEdge(1, 2);
+        connectivity.query(0, 2); // true
+        connectivity.removeEdge(1, 2);
+        connectivity.query(0, 2); // false
+        connectivity.addEdge(2, 3);
+        connectivity.addEdge(3, 0);
+        connectivity.query(1, 2); // true
+        connectivity.removeEdge(0, 1);
+        connectivity.query(1, 2); // false
+
+        System.out.println("Answers: " + Arrays.toString(connectivity.solve())); // [true, false, true, false]
+    }
+}
@@ -0,0 +1,184 @@
+package basics;
+
+import java.util.Arrays;
+
+/**
+ * Sum segment tree over a sparse long index range, nodes are created on first touch
+ *   - No elements array up front, memory grows with the number of touched points/ranges (O(log range) each),
+ *     not with the size of the key range, so it works for timestamps or ids spread over 64 bits
+ *   - Supports point add/set, range add with lazy propagation and range sum
+ *   - Nodes live in parallel primitive arrays (left, right, sum, lazy) that grow by doubling,
+ *     id 0 stands for a missing child whose sum is 0
+ *   - Sums use long arithmetic and wrap on overflow
+ */
+public class DynamicSegmentTree {
+
+    private static final int ROOT = 1;
+
+    private final long minIndex;
+    private final long maxIndex;
+    private int[] left;
+    private int[] right;
+    private long[] sum;
+    private long[] lazy;
+    private int nodeCount;
+
+    public DynamicSegmentTree(long minIndex, long maxIndex) {
+        if (minIndex > maxIndex) {
+            throw new IllegalArgumentException("Invalid index range [" + minIndex + ", " + maxIndex + "]");
+        }
+        this.minIndex = minIndex;
+        this.maxIndex = maxIndex;
+        int capacity = 64;
+        this.left = new int[capacity];
+        this.right = new int[capacity];
+        this.sum = new long[capacity];
+        this.lazy = new long[capacity];
+        this.nodeCount = ROOT; // slot 0 is the missing node
+        newNode();
+    }
+
+    public void add(long index, long delta) {
+        rangeAdd(index, index, delta);
+    }
+
+    public void set(long index, long value) {
+        add(index, value - get(index));
+    }
+
+    public long get(long index) {
+        return query(index, index);
+    }
+
+    /**
+     * Adds delta to every index in [from, to]
+     */
+    public void rangeAdd(long from, long to, long delta) {
+        checkRange(from, to);
+        rangeAdd(ROOT, minIndex, maxIndex, from, to, delta);
+    }
+
+    private void rangeAdd(int node, long start, long end, long from, long to, long delta) {
+        // Total overlap, apply here and leave the children for later
+        if (from <= start && end <= to) {
+            apply(node, start, end, delta);
+            return;
+        }
+
+        pushDown(node, start, end);
+        long mid = mid(start, end);
+        if (from <= mid) {
+            rangeAdd(leftChild(node), start, mid, from, to, delta);
+        }
+        if (to > mid) {
+            rangeAdd(rightChild(node), mid + 1, end, from, to, delta);
+        }
+        sum[node] = sum[left[node]] + sum[right[node]];
+    }
+
+    /**
+     * Sum of [from, to], both inclusive
+     */
+    public long query(long from, long to) {
+        checkRange(from, to);
+        return query(ROOT, minIndex, maxIndex, from, to, 0);
+    }
+
+    // pending: lazy adds of the ancestors that were not pushed into this subtree
+    private long query(int node, long start, long end, long from, long to, long pending) {
+        long overlapStart = Math.max(start, from);
+        long overlapEnd = Math.min(end, to);
+        if (overlapStart > overlapEnd) {
+            return 0;
+        }
+        if (node == 0) {
+            // Untouched subtree, only the adds pending from above apply
+            return pending * (overlapEnd - overlapStart + 1);
+        }
+        if (from <= start && end <= to) {
+            return sum[node] + pending * (end - start + 1);
+        }
+
+        // Queries do not push down, so they never create nodes
+        long mid = mid(start, end);
+        long childPending = pending + lazy[node];
+        return query(left[node], start, mid, from, to, childPending)
+                + query(right[node], mid + 1, end, from, to, childPending);
+    }
+
+    /**
+     * Number of nodes created so far, a measure of the memory in use
+     */
+    public int nodeCount() {
+        return nodeCount - 1;
+    }
+
+    private void apply(int node, long start, long end, long delta) {
+        sum[node] += delta * (end - start + 1);
+        if (start != end) {
+            lazy[node] += delta;
+        }
+    }
+
+    private void pushDown(int node, long start, long end) {
+        if (lazy[node] == 0) return;
+        long mid = mid(start, end);
+        apply(leftChild(node), start, mid, lazy[node]);
+        apply(rightChild(node), mid + 1, end, lazy[node]);
+        lazy[node] = 0;
+    }
+
+    // newNode() can replace the arrays, so the child id is stored only after it returns
+    private int leftChild(int node) {
+        if (left[node] == 0) {
+            int child = newNode();
+            left[node] = child;
+        }
+        return left[node];
+    }
+
+    private int rightChild(int node) {
+        if (right[node] == 0) {
+            int child = newNode();
+            right[node] = child;
+        }
+        return right[node];
+    }
+
+    private int newNode() {
+        if (nodeCount == left.length) {
+            int capacity = 2 * left.length;
+            left = Arrays.copyOf(left, capacity);
+            right = Arrays.copyOf(right, capacity);
+            sum = Arrays.copyOf(sum, capacity);
+            lazy = Arrays.copyOf(lazy, capacity);
+        }
+        return nodeCount++;
+    }
+
+    // Floor of (start + end) / 2 without overflowing on the full long range
+    private static long mid(long start, long end) {
+        return (start >> 1) + (end >> 1) + (start & end & 1);
+    }
+
+    private void checkRange(long from, long to) {
+        if (from < minIndex || to > maxIndex || from > to) {
+            throw new IndexOutOfBoundsException("Invalid range [" + from + ", " + to + "] for ["
+                    + minIndex + ", " + maxIndex + "]");
+        }
+    }
+
+    public static void main(String[] args) {
+        DynamicSegmentTree st = new DynamicSegmentTree(Long.MIN_VALUE, Long.MAX_VALUE);
+        long now = 1_700_000_000_000L;
+        st.add(now, 5);
+        st.add(now + 1_000, 7);
+        st.add(-42, 3);
+        st.rangeAdd(now, now + 9, 1); // Add 1 to ten consecutive timestamps
+
+        System.out.println("Sum around now: " + st.query(now - 1, now + 2_000)); // Output: 22
+        System.out.println("Sum of everything: " + st.query(Long.MIN_VALUE, Long.MAX_VALUE)); // Output: 25
+        System.out.println("Value at now: " + st.get(now)); // Output: 6
+        System.out.println("Nodes created: " + st.nodeCount());
+    }
+}
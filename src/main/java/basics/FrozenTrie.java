@@ -0,0 +1,115 @@
+package basics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Immutable, minimized form of a Trie built by Trie.freeze()
+ *   - Equal subtrees (same word endings) are merged into one state, so shared suffixes are stored once.
+ *     The result is the minimal acyclic automaton (DAWG) accepting the same words.
+ *   - States and edges are packed in flat arrays, edges of a state are contiguous and sorted by char:
+ *     edges of state s are at [edgeStart[s], edgeStart[s+1]) in edgeChars/edgeTargets
+ *   - Lookups only read the arrays and the input string, nothing is allocated
+ *   - writeTo() stores the arrays in the binary layout that MappedTrie reads directly from a mapped file
+ */
+public final class FrozenTrie {
+
+    private final int[] edgeStart;
+    private final char[] edgeChars;
+    private final int[] edgeTargets;
+    private final boolean[] finalStates;
+    private final int root;
+
+    FrozenTrie(int[] edgeStart, char[] edgeChars, int[] edgeTargets, boolean[] finalStates, int root) {
+        this.edgeStart = edgeStart;
+        this.edgeChars = edgeChars;
+        this.edgeTargets = edgeTargets;
+        this.finalStates = finalStates;
+        this.root = root;
+    }
+
+    public boolean search(String word) {
+        int state = walk(word);
+        return state >= 0 && finalStates[state];
+    }
+
+    public boolean startsWith(String prefix) {
+        return walk(prefix) >= 0;
+    }
+
+    public int stateCount() {
+        return finalStates.length;
+    }
+
+    public int edgeCount() {
+        return edgeChars.length;
+    }
+
+    /**
+     * Writes the automaton in the MappedTrie file format, see MappedTrie for the layout
+     */
+    public void writeTo(Path path) throws IOException {
+        int states = stateCount();
+        int edges = edgeCount();
+        ByteBuffer buffer = ByteBuffer.allocate(MappedTrie.fileSize(states, edges)).order(ByteOrder.LITTLE_ENDIAN);
+        buffer.putInt(MappedTrie.MAGIC).putInt(MappedTrie.FORMAT_VERSION)
+                .putInt(states).putInt(edges).putInt(root).putInt(0);
+        for (int start: edgeStart) buffer.putInt(start);
+        for (int target: edgeTargets) buffer.putInt(target);
+        for (char c: edgeChars) buffer.putChar(c);
+        for (boolean isFinal: finalStates) buffer.put((byte) (isFinal ? 1 : 0));
+        buffer.flip();
+
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.CREATE,
+                StandardOpenOption.TRUNCATE_EXISTING, StandardOpenOption.WRITE)) {
+            while (buffer.hasRemaining()) {
+                channel.write(buffer);
+            }
+        }
+    }
+
+    // Returns the state reached after reading all chars, or -1
+    private int walk(String word) {
+        int state = root;
+        for (int i = 0; i < word.length() && state >= 0; i++) {
+            state = transition(state, word.charAt(i));
+        }
+        return state;
+    }
+
+    private int transition(int state, char c) {
+        // Binary search over the sorted edges of the state
+        int low = edgeStart[state];
+        int high = edgeStart[state + 1] - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = edgeChars[mid];
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return edgeTargets[mid];
+            }
+        }
+        return -1;
+    }
+
+    public static void main(String[] args) {
+        Trie trie = new Trie();
+        for (String word: new String[] {"tap", "taps", "top", "tops", "stop", "stops", "step", "steps"}) {
+            trie.insert(word);
+        }
+        FrozenTrie frozen = trie.freeze();
+
+        System.out.println("States: " + frozen.stateCount() + ", edges: " + frozen.edgeCount());
+        System.out.println("Search for stops, found: " + frozen.search("stops"));
+        System.out.println("Search for sto, found: " + frozen.search("sto"));
+        System.out.println("Prefix Search for ste, found: " + frozen.startsWith("ste"));
+        System.out.println("Prefix Search for tx, found: " + frozen.startsWith("tx"));
+    }
+}
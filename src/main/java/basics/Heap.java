@@ -53,6 +53,10 @@ public class Heap<T> {
         return size == 0;
     }
 
+    public int size() {
+        return size;
+    }
+
     private void heapifyUp(int index) {
         int pIndex = (index - 1) / 2;
         if (index > 0 && cmp.compare((T) array[index], (T) array[pIndex]) < 0) {
@@ -0,0 +1,195 @@
+package basics;
+
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Min heap of elements ordered by a separate key, with a position map from element to array slot
+ *   - Supports decreaseKey, increaseKey, contains and remove(element) in O(log n)
+ *   - An element can be in the heap at most once, so no stale entries pile up like with re-offering
+ *   - Elements are used as map keys and need proper equals/hashCode
+ */
+@SuppressWarnings("unchecked")
+public class IndexedHeap<E, K> {
+
+    private int capacity;
+    private Object[] elements;
+    private Object[] keys;
+    private int size;
+    private final Map<E, Integer> positions;
+    private final Comparator<K> cmp;
+
+    public IndexedHeap(Comparator<K> comparator) {
+        this.capacity = 1000;
+        this.elements = new Object[capacity];
+        this.keys = new Object[capacity];
+        this.size = 0;
+        this.positions = new HashMap<>();
+        this.cmp = comparator;
+    }
+
+    public void add(E element, K key) {
+        if (positions.containsKey(element)) {
+            throw new IllegalArgumentException("Element already in heap: " + element);
+        }
+        if (size == capacity) {
+            capacity = 2 * capacity;
+            elements = Arrays.copyOf(elements, capacity);
+            keys = Arrays.copyOf(keys, capacity);
+        }
+        elements[size] = element;
+        keys[size] = key;
+        positions.put(element, size);
+        size++;
+        heapifyUp(size - 1);
+    }
+
+    public E remove() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        E root = (E) elements[0];
+        removeAt(0);
+        return root;
+    }
+
+    public boolean remove(E element) {
+        Integer index = positions.get(element);
+        if (index == null) return false;
+        removeAt(index);
+        return true;
+    }
+
+    public E peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return (E) elements[0];
+    }
+
+    public K peekKey() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return (K) keys[0];
+    }
+
+    public boolean contains(E element) {
+        return positions.containsKey(element);
+    }
+
+    public K getKey(E element) {
+        return (K) keys[indexOf(element)];
+    }
+
+    public void decreaseKey(E element, K key) {
+        int index = indexOf(element);
+        if (cmp.compare(key, (K) keys[index]) > 0) {
+            throw new IllegalArgumentException("New key is greater than the current key");
+        }
+        keys[index] = key;
+        heapifyUp(index);
+    }
+
+    public void increaseKey(E element, K key) {
+        int index = indexOf(element);
+        if (cmp.compare(key, (K) keys[index]) < 0) {
+            throw new IllegalArgumentException("New key is smaller than the current key");
+        }
+        keys[index] = key;
+        heapifyDown(index);
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private int indexOf(E element) {
+        Integer index = positions.get(element);
+        if (index == null) {
+            throw new IllegalArgumentException("Element not in heap: " + element);
+        }
+        return index;
+    }
+
+    private void removeAt(int index) {
+        positions.remove((E) elements[index]);
+        size--;
+        if (index != size) {
+            move(size, index);
+            // Last element can belong on either side of the removed slot
+            heapifyDown(index);
+            heapifyUp(index);
+        }
+        elements[size] = null;
+        keys[size] = null;
+    }
+
+    private void heapifyUp(int index) {
+        while (index > 0) {
+            int pIndex = (index - 1) / 2;
+            if (cmp.compare((K) keys[index], (K) keys[pIndex]) >= 0) break;
+            swap(pIndex, index);
+            index = pIndex;
+        }
+    }
+
+    private void heapifyDown(int index) {
+        while (true) {
+            int lcIndex = 2 * index + 1;
+            int rcIndex = 2 * index + 2;
+            int candidate = index;
+            if (lcIndex < size && cmp.compare((K) keys[lcIndex], (K) keys[candidate]) < 0) {
+                candidate = lcIndex;
+            }
+            if (rcIndex < size && cmp.compare((K) keys[rcIndex], (K) keys[candidate]) < 0) {
+                candidate = rcIndex;
+            }
+            if (candidate == index) break;
+            swap(index, candidate);
+            index = candidate;
+        }
+    }
+
+    private void move(int from, int to) {
+        elements[to] = elements[from];
+        keys[to] = keys[from];
+        positions.put((E) elements[to], to);
+    }
+
+    private void swap(int left, int right) {
+        Object tempElement = elements[left];
+        Object tempKey = keys[left];
+        elements[left] = elements[right];
+        keys[left] = keys[right];
+        elements[right] = tempElement;
+        keys[right] = tempKey;
+        positions.put((E) elements[left], left);
+        positions.put((E) elements[right], right);
+    }
+
+    public static void main(String[] args) {
+        IndexedHeap<String, Integer> heap = new IndexedHeap<>(Integer::compare);
+        heap.add("a", 5);
+        heap.add("b", 3);
+        heap.add("c", 8);
+        heap.add("d", 1);
+
+        heap.decreaseKey("c", 0);
+        heap.increaseKey("d", 9);
+        heap.remove("b");
+
+        StringBuilder sorted = new StringBuilder();
+        while (!heap.isEmpty()) {
+            sorted.append(heap.peek()).append("=").append(heap.peekKey()).append(" ");
+            heap.remove();
+        }
+        System.out.println("Sorted: " + sorted.toString().trim()); // c=0 a=5 d=9
+    }
+}
@@ -0,0 +1,205 @@
+package basics;
+
+import java.util.Arrays;
+
+/**
+ * Min heap over int ids in [0, capacity) ordered by long keys, with a position array from id to heap slot
+ *   - Supports decreaseKey, increaseKey, contains and remove(id) in O(log n)
+ *   - Everything is kept in primitive arrays, so no operation allocates
+ *   - Meant for graph algorithms where nodes are already numbered 0..n-1
+ */
+public class IndexedIntHeap {
+
+    private final int[] heap; // heap slot -> id
+    private final int[] positions; // id -> heap slot, -1 when not in heap
+    private final long[] keys; // id -> key
+    private int size;
+
+    public IndexedIntHeap(int capacity) {
+        this.heap = new int[capacity];
+        this.positions = new int[capacity];
+        this.keys = new long[capacity];
+        this.size = 0;
+        Arrays.fill(positions, -1);
+    }
+
+    public void add(int id, long key) {
+        if (contains(id)) {
+            throw new IllegalArgumentException("Id already in heap: " + id);
+        }
+        keys[id] = key;
+        heap[size] = id;
+        positions[id] = size;
+        size++;
+        heapifyUp(size - 1);
+    }
+
+    public int remove() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        int root = heap[0];
+        removeAt(0);
+        return root;
+    }
+
+    public boolean remove(int id) {
+        if (!contains(id)) return false;
+        removeAt(positions[id]);
+        return true;
+    }
+
+    public int peek() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return heap[0];
+    }
+
+    public long peekKey() {
+        if (size == 0) {
+            throw new IllegalStateException("Heap is empty");
+        }
+        return keys[heap[0]];
+    }
+
+    public boolean contains(int id) {
+        return positions[id] >= 0;
+    }
+
+    public long getKey(int id) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException("Id not in heap: " + id);
+        }
+        return keys[id];
+    }
+
+    public void decreaseKey(int id, long key) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException("Id not in heap: " + id);
+        }
+        if (key > keys[id]) {
+            throw new IllegalArgumentException("New key is greater than the current key");
+        }
+        keys[id] = key;
+        heapifyUp(positions[id]);
+    }
+
+    public void increaseKey(int id, long key) {
+        if (!contains(id)) {
+            throw new IllegalArgumentException("Id not in heap: " + id);
+        }
+        if (key < keys[id]) {
+            throw new IllegalArgumentException("New key is smaller than the current key");
+        }
+        keys[id] = key;
+        heapifyDown(positions[id]);
+    }
+
+    /**
+     * Adds the id, or lowers its key if it is already present with a larger key
+     * Returns true when the heap changed
+     */
+    public boolean addOrDecrease(int id, long key) {
+        if (!contains(id)) {
+            add(id, key);
+            return true;
+        }
+        if (key < keys[id]) {
+            keys[id] = key;
+            heapifyUp(positions[id]);
+            return true;
+        }
+        return false;
+    }
+
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    public int capacity() {
+        return heap.length;
+    }
+
+    /**
+     * Empties the heap so it can be reused, only touches the slots that are in use
+     */
+    public void clear() {
+        for (int i = 0; i < size; i++) {
+            positions[heap[i]] = -1;
+        }
+        size = 0;
+    }
+
+    private void removeAt(int index) {
+        positions[heap[index]] = -1;
+        size--;
+        if (index != size) {
+            int moved = heap[size];
+            heap[index] = moved;
+            positions[moved] = index;
+            // Last id can belong on either side of the removed slot
+            heapifyDown(index);
+            heapifyUp(positions[moved]);
+        }
+    }
+
+    private void heapifyUp(int index) {
+        int id = heap[index];
+        long key = keys[id];
+        while (index > 0) {
+            int pIndex = (index - 1) / 2;
+            int parent = heap[pIndex];
+            if (key >= keys[parent]) break;
+            heap[index] = parent;
+            positions[parent] = index;
+            index = pIndex;
+        }
+        heap[index] = id;
+        positions[id] = index;
+    }
+
+    private void heapifyDown(int index) {
+        int id = heap[index];
+        long key = keys[id];
+        int half = size / 2;
+        while (index < half) {
+            int candidate = 2 * index + 1;
+            int rcIndex = candidate + 1;
+            if (rcIndex < size && keys[heap[rcIndex]] < keys[heap[candidate]]) {
+                candidate = rcIndex;
+            }
+            int child = heap[candidate];
+            if (key <= keys[child]) break;
+            heap[index] = child;
+            positions[child] = index;
+            index = candidate;
+        }
+        heap[index] = id;
+        positions[id] = index;
+    }
+
+    public static void main(String[] args) {
+        IndexedIntHeap heap = new IndexedIntHeap(5);
+        heap.add(0, 50);
+        heap.add(1, 30);
+        heap.add(2, 80);
+        heap.add(3, 10);
+        heap.add(4, 20);
+
+        heap.decreaseKey(2, 0);
+        heap.increaseKey(3, 90);
+        heap.remove(1);
+
+        StringBuilder sorted = new StringBuilder();
+        while (!heap.isEmpty()) {
+            sorted.append(heap.peek()).append("=").append(heap.peekKey()).append(" ");
+            heap.remove();
+        }
+        System.out.println("Sorted: " + sorted.toString().trim()); // 2=0 4=20 0=50 3=90
+    }
+}
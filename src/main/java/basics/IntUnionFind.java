@@ -0,0 +1,125 @@
+package basics;
+
+import java.util.Arrays;
+
+/**
+ * Union find over int ids 0..n-1 backed by plain int arrays
+ *   - No map and no node objects: parent[] and size[] only, 8 bytes per element
+ *   - find() is iterative with path halving (every node on the path skips to its grandparent)
+ *   - Union by size keeps trees shallow and gives component sizes for free
+ *   - Component count is kept up to date on every union, so getSize() is O(1)
+ */
+public class IntUnionFind {
+
+    private int[] parent;
+    private int[] size;
+    private int elements;
+    private int components;
+
+    public IntUnionFind(int elements) {
+        this.parent = new int[Math.max(elements, 1)];
+        this.size = new int[Math.max(elements, 1)];
+        // Filled here rather than through makeSet(), which a subclass could override
+        this.elements = Math.max(elements, 0);
+        this.components = this.elements;
+        for (int i = 0; i < this.elements; i++) {
+            parent[i] = i;
+            size[i] = 1;
+        }
+    }
+
+    /**
+     * Makes a new disjoint set and returns its id, the arrays grow as needed
+     */
+    public int makeSet() {
+        if (elements == parent.length) {
+            int capacity = 2 * parent.length;
+            parent = Arrays.copyOf(parent, capacity);
+            size = Arrays.copyOf(size, capacity);
+        }
+        int id = elements++;
+        parent[id] = id;
+        size[id] = 1;
+        components++;
+        return id;
+    }
+
+    /**
+     * Finds the representative of the element, halving the path on the way
+     */
+    public int find(int element) {
+        checkElement(element);
+        while (parent[element] != element) {
+            parent[element] = parent[parent[element]];
+            element = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * Merges the sets of both elements, returns false if they were already in the same set
+     */
+    public boolean union(int element1, int element2) {
+        int rep1 = find(element1);
+        int rep2 = find(element2);
+        if (rep1 == rep2) return false;
+
+        // Attach the smaller tree under the larger one
+        if (size[rep1] < size[rep2]) {
+            int temp = rep1;
+            rep1 = rep2;
+            rep2 = temp;
+        }
+        parent[rep2] = rep1;
+        size[rep1] += size[rep2];
+        components--;
+        return true;
+    }
+
+    public boolean sameSet(int element1, int element2) {
+        return find(element1) == find(element2);
+    }
+
+    public int componentSize(int element) {
+        return size[find(element)];
+    }
+
+    /**
+     * Number of disjoint sets
+     */
+    public int getSize() {
+        return components;
+    }
+
+    public int elementCount() {
+        return elements;
+    }
+
+    private void checkElement(int element) {
+        if (element < 0 || element >= elements) {
+            throw new IndexOutOfBoundsException("Element " + element + " out of bounds for " + elements + " elements");
+        }
+    }
+
+    public static void main(String[] args) {
+        IntUnionFind unionFind = new IntUnionFind(8);
+        unionFind.union(1, 5);
+        unionFind.union(4, 6);
+        unionFind.union(5, 7);
+        unionFind.union(2, 3);
+
+        System.out.println("Total Sets: " + unionFind.getSize()); // Output: 4
+        System.out.println("Size of set with 7: " + unionFind.componentSize(7)); // Output: 3
+        System.out.println("1 and 7 connected: " + unionFind.sameSet(1, 7)); // Output: true
+
+        // Start empty and grow one large set, the arrays double as makeSet needs room
+        IntUnionFind chain = new IntUnionFind(0);
+        int previous = chain.makeSet();
+        for (int i = 1; i < 1_000_000; i++) {
+            int next = chain.makeSet();
+            chain.union(next, previous);
+            previous = next;
+        }
+        System.out.println("Chain sets: " + chain.getSize() + ", size: " + chain.componentSize(0)); // Output: 1, 1000000
+    }
+}
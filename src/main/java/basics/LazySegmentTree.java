@@ -0,0 +1,191 @@
+package basics;
+
+/**
+ * Segment tree with range updates in O(log n) using lazy propagation
+ *   - Aggregates are combined with a Monoid, updates are applied with an UpdateOperator
+ *   - A range update stops at nodes fully inside the range and parks the update in lazy[node],
+ *     it is pushed down to the children only when a later update/query needs to go below that node
+ *   - Factories cover sum/min/max with range add and range assign
+ */
+@SuppressWarnings("unchecked")
+public class LazySegmentTree<T, U> {
+
+    /**
+     * How an update U changes the aggregate T of a node and how two pending updates merge
+     */
+    public interface UpdateOperator<T, U> {
+
+        // New aggregate of a node covering length elements after the update
+        T apply(T aggregate, U update, int length);
+
+        // Single update equivalent to applying older first and then newer
+        U compose(U newer, U older);
+    }
+
+    private final Object[] tree;
+    private final Object[] lazy; // pending update per node, null when none
+    private final int size;
+    private final Monoid<T> monoid;
+    private final UpdateOperator<T, U> operator;
+
+    public LazySegmentTree(T[] elements, Monoid<T> monoid, UpdateOperator<T, U> operator) {
+        this.size = elements.length;
+        this.monoid = monoid;
+        this.operator = operator;
+        this.tree = new Object[4 * size];
+        this.lazy = new Object[4 * size];
+        if (size > 0) {
+            buildTree(elements, 0, 0, size - 1);
+        }
+    }
+
+    public static LazySegmentTree<Long, Long> sumWithAdd(Long[] elements) {
+        return new LazySegmentTree<>(elements, Monoid.of(0L, Long::sum), new UpdateOperator<>() {
+            @Override public Long apply(Long aggregate, Long update, int length) { return aggregate + update * length; }
+            @Override public Long compose(Long newer, Long older) { return newer + older; }
+        });
+    }
+
+    public static LazySegmentTree<Long, Long> sumWithAssign(Long[] elements) {
+        return new LazySegmentTree<>(elements, Monoid.of(0L, Long::sum), new UpdateOperator<>() {
+            @Override public Long apply(Long aggregate, Long update, int length) { return update * length; }
+            @Override public Long compose(Long newer, Long older) { return newer; }
+        });
+    }
+
+    public static LazySegmentTree<Long, Long> minWithAdd(Long[] elements) {
+        return new LazySegmentTree<>(elements, Monoid.of(Long.MAX_VALUE, Math::min), addOperator());
+    }
+
+    public static LazySegmentTree<Long, Long> minWithAssign(Long[] elements) {
+        return new LazySegmentTree<>(elements, Monoid.of(Long.MAX_VALUE, Math::min), assignOperator());
+    }
+
+    public static LazySegmentTree<Long, Long> maxWithAdd(Long[] elements) {
+        return new LazySegmentTree<>(elements, Monoid.of(Long.MIN_VALUE, Math::max), addOperator());
+    }
+
+    public static LazySegmentTree<Long, Long> maxWithAssign(Long[] elements) {
+        return new LazySegmentTree<>(elements, Monoid.of(Long.MIN_VALUE, Math::max), assignOperator());
+    }
+
+    // For min/max every element moves by the same amount, so the extreme moves with it
+    private static UpdateOperator<Long, Long> addOperator() {
+        return new UpdateOperator<>() {
+            @Override public Long apply(Long aggregate, Long update, int length) { return aggregate + update; }
+            @Override public Long compose(Long newer, Long older) { return newer + older; }
+        };
+    }
+
+    private static UpdateOperator<Long, Long> assignOperator() {
+        return new UpdateOperator<>() {
+            @Override public Long apply(Long aggregate, Long update, int length) { return update; }
+            @Override public Long compose(Long newer, Long older) { return newer; }
+        };
+    }
+
+    private void buildTree(T[] elements, int nodeIndex, int start, int end) {
+        if (start == end) {
+            tree[nodeIndex] = elements[start];
+        } else {
+            int mid = (start + end) / 2;
+            int leftChildIndex = (2 * nodeIndex) + 1;
+            int rightChildIndex = (2 * nodeIndex) + 2;
+            buildTree(elements, leftChildIndex, start, mid);
+            buildTree(elements, rightChildIndex, mid + 1, end);
+            tree[nodeIndex] = monoid.combine((T) tree[leftChildIndex], (T) tree[rightChildIndex]);
+        }
+    }
+
+    /**
+     * Applies the update to every element in [left, right]
+     */
+    public void update(int left, int right, U update) {
+        checkRange(left, right);
+        update(0, 0, size - 1, left, right, update);
+    }
+
+    private void update(int nodeIndex, int start, int end, int left, int right, U update) {
+        // No overlap with the current range
+        if (right < start || left > end) {
+            return;
+        }
+
+        // Total overlap, apply here and leave the children for later
+        if (left <= start && end <= right) {
+            applyToNode(nodeIndex, update, end - start + 1);
+            return;
+        }
+
+        // Partial overlap, children must be up to date before going down
+        pushDown(nodeIndex, start, end);
+        int mid = (start + end) / 2;
+        int leftChildIndex = (2 * nodeIndex) + 1;
+        int rightChildIndex = (2 * nodeIndex) + 2;
+        update(leftChildIndex, start, mid, left, right, update);
+        update(rightChildIndex, mid + 1, end, left, right, update);
+        tree[nodeIndex] = monoid.combine((T) tree[leftChildIndex], (T) tree[rightChildIndex]);
+    }
+
+    public T query(int left, int right) {
+        checkRange(left, right);
+        return query(0, 0, size - 1, left, right);
+    }
+
+    private T query(int nodeIndex, int start, int end, int left, int right) {
+        if (right < start || left > end) {
+            return monoid.identity();
+        }
+        if (left <= start && end <= right) {
+            return (T) tree[nodeIndex];
+        }
+
+        pushDown(nodeIndex, start, end);
+        int mid = (start + end) / 2;
+        T leftResult = query((2 * nodeIndex) + 1, start, mid, left, right);
+        T rightResult = query((2 * nodeIndex) + 2, mid + 1, end, left, right);
+        return monoid.combine(leftResult, rightResult);
+    }
+
+    private void applyToNode(int nodeIndex, U update, int length) {
+        tree[nodeIndex] = operator.apply((T) tree[nodeIndex], update, length);
+        // Leaves have no children to pass the update to
+        if (length > 1) {
+            lazy[nodeIndex] = (lazy[nodeIndex] == null) ? update : operator.compose(update, (U) lazy[nodeIndex]);
+        }
+    }
+
+    private void pushDown(int nodeIndex, int start, int end) {
+        if (lazy[nodeIndex] == null) return;
+        U update = (U) lazy[nodeIndex];
+        int mid = (start + end) / 2;
+        applyToNode((2 * nodeIndex) + 1, update, mid - start + 1);
+        applyToNode((2 * nodeIndex) + 2, update, end - mid);
+        lazy[nodeIndex] = null;
+    }
+
+    private void checkRange(int left, int right) {
+        if (left < 0 || right >= size || left > right) {
+            throw new IndexOutOfBoundsException("Invalid range [" + left + ", " + right + "] for size " + size);
+        }
+    }
+
+    public static void main(String[] args) {
+        Long[] arr = {1L, 3L, 5L, 7L, 9L, 11L};
+
+        LazySegmentTree<Long, Long> sums = LazySegmentTree.sumWithAdd(arr);
+        System.out.println("Initial Range Sum (1-3): " + sums.query(1, 3)); // Output: 15
+        sums.update(0, 4, 5L); // Add 5 to indices 0..4
+        System.out.println("Updated Range Sum (1-3): " + sums.query(1, 3)); // Output: 30
+        System.out.println("Updated Range Sum (0-5): " + sums.query(0, 5)); // Output: 61
+
+        LazySegmentTree<Long, Long> mins = LazySegmentTree.minWithAssign(arr);
+        mins.update(2, 5, 4L); // Set indices 2..5 to 4
+        System.out.println("Range Min (0-5) after assign: " + mins.query(0, 5)); // Output: 1
+        System.out.println("Range Min (3-5) after assign: " + mins.query(3, 5)); // Output: 4
+
+        LazySegmentTree<Long, Long> maxes = LazySegmentTree.maxWithAdd(arr);
+        maxes.update(0, 2, 10L); // Add 10 to indices 0..2
+        System.out.println("Range Max (0-3) after add: " + maxes.query(0, 3)); // Output: 15
+    }
+}
@@ -0,0 +1,109 @@
+package basics;
+
+/**
+ * Fenwick tree (binary indexed tree) for long prefix sums with point updates
+ *   - n + 1 slots instead of the 2n/4n of a segment tree, updates and queries are short bit twiddling loops
+ *   - Slot i (1 based) holds the sum of the (i & -i) elements ending at i
+ *   - Public indices are 0 based like the other range structures
+ */
+public class LongFenwickTree {
+
+    private final long[] tree;
+    private final int size;
+
+    public LongFenwickTree(int size) {
+        this.size = size;
+        this.tree = new long[size + 1];
+    }
+
+    /**
+     * Builds in O(n): every slot pushes its total once into the next slot that covers it
+     */
+    public LongFenwickTree(long[] elements) {
+        this(elements.length);
+        System.arraycopy(elements, 0, tree, 1, size);
+        for (int i = 1; i <= size; i++) {
+            int parent = i + (i & -i);
+            if (parent <= size) {
+                tree[parent] += tree[i];
+            }
+        }
+    }
+
+    public void add(int index, long delta) {
+        checkIndex(index);
+        for (int i = index + 1; i <= size; i += i & -i) {
+            tree[i] += delta;
+        }
+    }
+
+    public void set(int index, long value) {
+        add(index, value - get(index));
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return rangeSum(index, index);
+    }
+
+    /**
+     * Sum of [0, index]
+     */
+    public long prefixSum(int index) {
+        if (index < 0) return 0;
+        checkIndex(index);
+        long sum = 0;
+        for (int i = index + 1; i > 0; i -= i & -i) {
+            sum += tree[i];
+        }
+        return sum;
+    }
+
+    /**
+     * Sum of [left, right], both inclusive
+     */
+    public long rangeSum(int left, int right) {
+        if (left > right) {
+            throw new IndexOutOfBoundsException("Invalid range [" + left + ", " + right + "]");
+        }
+        return prefixSum(right) - prefixSum(left - 1);
+    }
+
+    /**
+     * Smallest index whose prefix sum is at least target, or size() if there is none
+     * Only valid while all elements are non-negative, so prefix sums are non-decreasing
+     */
+    public int lowerBound(long target) {
+        if (target <= 0) return 0;
+        int position = 0;
+        // Descend by powers of two, extending the position while the covered sum stays below target
+        for (int step = Integer.highestOneBit(Math.max(size, 1)); step > 0; step >>= 1) {
+            int next = position + step;
+            if (next <= size && tree[next] < target) {
+                position = next;
+                target -= tree[next];
+            }
+        }
+        return position;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    public static void main(String[] args) {
+        long[] arr = {1, 3, 5, 7, 9, 11};
+        LongFenwickTree ft = new LongFenwickTree(arr);
+
+        System.out.println("Initial Range Sum (1-3): " + ft.rangeSum(1, 3)); // Output: 15
+        ft.set(1, 10); // Update index 1 to 10
+        System.out.println("Updated Range Sum (1-3): " + ft.rangeSum(1, 3)); // Output: 22
+        System.out.println("First index with prefix sum >= 20: " + ft.lowerBound(20)); // Output: 3
+    }
+}
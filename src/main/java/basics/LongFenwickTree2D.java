@@ -0,0 +1,89 @@
+package basics;
+
+/**
+ * 2D Fenwick tree for long counters on a rows x cols grid
+ *   - Point add and rectangle sum in O(log rows * log cols)
+ *   - One flat (rows + 1) * (cols + 1) array instead of an array of rows
+ */
+public class LongFenwickTree2D {
+
+    private final long[] tree;
+    private final int rows;
+    private final int cols;
+    private final int stride;
+
+    public LongFenwickTree2D(int rows, int cols) {
+        this.rows = rows;
+        this.cols = cols;
+        this.stride = cols + 1;
+        this.tree = new long[(rows + 1) * stride];
+    }
+
+    public void add(int row, int col, long delta) {
+        checkCell(row, col);
+        for (int r = row + 1; r <= rows; r += r & -r) {
+            int base = r * stride;
+            for (int c = col + 1; c <= cols; c += c & -c) {
+                tree[base + c] += delta;
+            }
+        }
+    }
+
+    /**
+     * Sum of the rectangle [0, row] x [0, col]
+     */
+    public long prefixSum(int row, int col) {
+        if (row < 0 || col < 0) return 0;
+        checkCell(row, col);
+        long sum = 0;
+        for (int r = row + 1; r > 0; r -= r & -r) {
+            int base = r * stride;
+            for (int c = col + 1; c > 0; c -= c & -c) {
+                sum += tree[base + c];
+            }
+        }
+        return sum;
+    }
+
+    /**
+     * Sum of the rectangle [top, bottom] x [left, right], all inclusive
+     */
+    public long rangeSum(int top, int left, int bottom, int right) {
+        if (top > bottom || left > right) {
+            throw new IndexOutOfBoundsException("Invalid rectangle [" + top + ", " + left + "] - [" + bottom + ", " + right + "]");
+        }
+        // Inclusion-exclusion over the four prefix rectangles
+        return prefixSum(bottom, right) - prefixSum(top - 1, right)
+                - prefixSum(bottom, left - 1) + prefixSum(top - 1, left - 1);
+    }
+
+    public long get(int row, int col) {
+        return rangeSum(row, col, row, col);
+    }
+
+    public int rows() {
+        return rows;
+    }
+
+    public int cols() {
+        return cols;
+    }
+
+    private void checkCell(int row, int col) {
+        if (row < 0 || row >= rows || col < 0 || col >= cols) {
+            throw new IndexOutOfBoundsException("Cell (" + row + ", " + col + ") out of bounds for " + rows + "x" + cols);
+        }
+    }
+
+    public static void main(String[] args) {
+        LongFenwickTree2D grid = new LongFenwickTree2D(4, 5);
+        grid.add(0, 0, 1);
+        grid.add(1, 2, 5);
+        grid.add(3, 4, 7);
+        grid.add(2, 2, 3);
+
+        System.out.println("Sum of whole grid: " + grid.rangeSum(0, 0, 3, 4)); // Output: 16
+        System.out.println("Sum of [1-2] x [1-3]: " + grid.rangeSum(1, 1, 2, 3)); // Output: 8
+        System.out.println("Cell (3, 4): " + grid.get(3, 4)); // Output: 7
+    }
+}
@@ -0,0 +1,95 @@
+package basics;
+
+import java.util.function.LongBinaryOperator;
+
+/**
+ * Segment tree over long values in a 2n primitive array, built and queried bottom up without recursion
+ *   - Leaves live at [n, 2n), the parent of node i is i/2 and node 1 is the root
+ *   - Works for any n, not only powers of 2, and needs half the slots of the 4n recursive layout
+ *   - Build, point update and query do not allocate and never box
+ *   - The operator must be associative, it does not have to be commutative
+ */
+public class LongSegmentTree {
+
+    private final long[] tree;
+    private final int size;
+    private final long identity;
+    private final LongBinaryOperator segmentFunction;
+
+    public LongSegmentTree(long[] elements, long identity, LongBinaryOperator segmentFunction) {
+        this.size = elements.length;
+        this.identity = identity;
+        this.segmentFunction = segmentFunction;
+        this.tree = new long[2 * size];
+
+        System.arraycopy(elements, 0, tree, size, size);
+        for (int node = size - 1; node > 0; node--) {
+            tree[node] = segmentFunction.applyAsLong(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    public static LongSegmentTree sum(long[] elements) {
+        return new LongSegmentTree(elements, 0L, Long::sum);
+    }
+
+    public static LongSegmentTree min(long[] elements) {
+        return new LongSegmentTree(elements, Long.MAX_VALUE, Math::min);
+    }
+
+    public static LongSegmentTree max(long[] elements) {
+        return new LongSegmentTree(elements, Long.MIN_VALUE, Math::max);
+    }
+
+    public void update(int index, long value) {
+        checkIndex(index);
+        int node = index + size;
+        tree[node] = value;
+        // Re-calculate the parents up to the root
+        for (node /= 2; node > 0; node /= 2) {
+            tree[node] = segmentFunction.applyAsLong(tree[2 * node], tree[2 * node + 1]);
+        }
+    }
+
+    public long get(int index) {
+        checkIndex(index);
+        return tree[index + size];
+    }
+
+    /**
+     * Aggregate of [left, right], both inclusive
+     */
+    public long query(int left, int right) {
+        if (left < 0 || right >= size || left > right) {
+            throw new IndexOutOfBoundsException("Invalid range [" + left + ", " + right + "] for size " + size);
+        }
+        // Walk both borders up, a border node that is a right (left) child is taken whole and the border
+        // moves past it. Left and right results are kept apart so the operator order is preserved.
+        long leftResult = identity;
+        long rightResult = identity;
+        for (int lo = left + size, hi = right + size + 1; lo < hi; lo /= 2, hi /= 2) {
+            if ((lo & 1) == 1) leftResult = segmentFunction.applyAsLong(leftResult, tree[lo++]);
+            if ((hi & 1) == 1) rightResult = segmentFunction.applyAsLong(tree[--hi], rightResult);
+        }
+        return segmentFunction.applyAsLong(leftResult, rightResult);
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private void checkIndex(int index) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+    }
+
+    public static void main(String[] args) {
+        long[] arr = {1, 3, 5, 7, 9, 11};
+        LongSegmentTree st = LongSegmentTree.sum(arr);
+
+        System.out.println("Initial Range Sum (1-3): " + st.query(1, 3)); // Output: 15
+        st.update(1, 10); // Update index 1 to 10
+        System.out.println("Updated Range Sum (1-3): " + st.query(1, 3)); // Output: 22
+        System.out.println("Range Min (2-5): " + LongSegmentTree.min(arr).query(2, 5)); // Output: 5
+    }
+}
@@ -0,0 +1,144 @@
+package basics;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.function.ToLongFunction;
+import java.util.stream.Collector;
+
+/**
+ * Keeps the K items with the highest long scores, scores are stored unboxed next to the items
+ *   - Same bounded min heap as TopK, but the rejection check is a plain long compare
+ */
+@SuppressWarnings("unchecked")
+public class LongTopK<T> {
+
+    private final int k;
+    private final long[] scores;
+    private final Object[] items;
+    private int size;
+
+    public LongTopK(int k) {
+        if (k < 1) {
+            throw new IllegalArgumentException("K must be positive");
+        }
+        this.k = k;
+        this.scores = new long[k];
+        this.items = new Object[k];
+        this.size = 0;
+    }
+
+    /**
+     * Returns true if the item is now among the top K
+     */
+    public boolean offer(T item, long score) {
+        if (size < k) {
+            heapifyUp(size, item, score);
+            size++;
+            return true;
+        }
+        if (score <= scores[0]) {
+            return false;
+        }
+        heapifyDown(0, item, score);
+        return true;
+    }
+
+    public LongTopK<T> merge(LongTopK<T> other) {
+        for (int i = 0; i < other.size; i++) {
+            offer((T) other.items[i], other.scores[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Lowest kept score, any new item has to beat it once K are kept
+     */
+    public long threshold() {
+        if (size == 0) {
+            throw new IllegalStateException("TopK is empty");
+        }
+        return scores[0];
+    }
+
+    public boolean isFull() {
+        return size == k;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Kept items, highest score first
+     */
+    public List<T> toSortedList() {
+        // Drain a copy of the heap, lowest score comes out first
+        LongTopK<T> copy = new LongTopK<>(k);
+        System.arraycopy(scores, 0, copy.scores, 0, size);
+        System.arraycopy(items, 0, copy.items, 0, size);
+        copy.size = size;
+        T[] result = (T[]) new Object[size];
+        for (int i = size - 1; i >= 0; i--) {
+            result[i] = (T) copy.items[0];
+            copy.removeRoot();
+        }
+        return new ArrayList<>(Arrays.asList(result));
+    }
+
+    /**
+     * Collects the K stream elements with the highest score into a list, best first
+     */
+    public static <T> Collector<T, ?, List<T>> collector(int k, ToLongFunction<? super T> scoreFunction) {
+        return Collector.of(
+                () -> new LongTopK<T>(k),
+                (topK, item) -> topK.offer(item, scoreFunction.applyAsLong(item)),
+                LongTopK::merge,
+                LongTopK::toSortedList,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    private void removeRoot() {
+        size--;
+        if (size > 0) {
+            heapifyDown(0, (T) items[size], scores[size]);
+        }
+        items[size] = null;
+    }
+
+    private void heapifyUp(int index, T item, long score) {
+        while (index > 0) {
+            int pIndex = (index - 1) / 2;
+            if (score >= scores[pIndex]) break;
+            scores[index] = scores[pIndex];
+            items[index] = items[pIndex];
+            index = pIndex;
+        }
+        scores[index] = score;
+        items[index] = item;
+    }
+
+    private void heapifyDown(int index, T item, long score) {
+        int half = size / 2;
+        while (index < half) {
+            int candidate = 2 * index + 1;
+            int rcIndex = candidate + 1;
+            if (rcIndex < size && scores[rcIndex] < scores[candidate]) {
+                candidate = rcIndex;
+            }
+            if (score <= scores[candidate]) break;
+            scores[index] = scores[candidate];
+            items[index] = items[candidate];
+            index = candidate;
+        }
+        scores[index] = score;
+        items[index] = item;
+    }
+
+    public static void main(String[] args) {
+        List<String> longest = List.of("kiwi", "banana", "fig", "strawberry", "apple", "raspberry")
+                .parallelStream()
+                .collect(LongTopK.collector(3, String::length));
+        System.out.println("Longest 3: " + longest); // [strawberry, raspberry, banana]
+    }
+}
@@ -0,0 +1,127 @@
+package basics;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * Read only Trie served straight from a memory mapped file written by FrozenTrie.writeTo()
+ *   - Opening only maps the file, nothing is deserialized, so startup does not depend on the dictionary size
+ *   - Lookups read the mapped bytes with absolute gets, the OS pages the file in on demand
+ *     and several JVMs mapping the same file share the same page cache
+ *   - A single mapping is limited to 2 GB
+ *
+ * File layout, little endian:
+ *   header:      magic, format version, state count, edge count, root state, reserved (6 ints)
+ *   edgeStart:   (states + 1) ints, edges of state s are at [edgeStart[s], edgeStart[s+1])
+ *   edgeTargets: edges ints
+ *   edgeChars:   edges chars, sorted within each state
+ *   finals:      states bytes, 1 when the state ends a word
+ */
+public final class MappedTrie {
+
+    static final int MAGIC = 0x54524945; // "TRIE"
+    static final int FORMAT_VERSION = 1;
+    private static final int HEADER_BYTES = 6 * Integer.BYTES;
+
+    private final ByteBuffer buffer;
+    private final int states;
+    private final int root;
+    private final int edgeStartOffset;
+    private final int edgeTargetsOffset;
+    private final int edgeCharsOffset;
+    private final int finalsOffset;
+
+    private MappedTrie(ByteBuffer buffer) throws IOException {
+        this.buffer = buffer.order(ByteOrder.LITTLE_ENDIAN);
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(0) != MAGIC) {
+            throw new IOException("Not a trie file");
+        }
+        if (buffer.getInt(4) != FORMAT_VERSION) {
+            throw new IOException("Unsupported trie file version: " + buffer.getInt(4));
+        }
+        this.states = buffer.getInt(8);
+        int edges = buffer.getInt(12);
+        this.root = buffer.getInt(16);
+        if (buffer.capacity() != fileSize(states, edges)) {
+            throw new IOException("Trie file is truncated or corrupt");
+        }
+        this.edgeStartOffset = HEADER_BYTES;
+        this.edgeTargetsOffset = edgeStartOffset + (states + 1) * Integer.BYTES;
+        this.edgeCharsOffset = edgeTargetsOffset + edges * Integer.BYTES;
+        this.finalsOffset = edgeCharsOffset + edges * Character.BYTES;
+    }
+
+    public static MappedTrie open(Path path) throws IOException {
+        try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+            // The mapping stays valid after the channel is closed
+            return new MappedTrie(channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+        }
+    }
+
+    static int fileSize(int states, int edges) {
+        long size = HEADER_BYTES + (long) (states + 1) * Integer.BYTES
+                + (long) edges * (Integer.BYTES + Character.BYTES) + states;
+        if (size > Integer.MAX_VALUE) {
+            throw new IllegalStateException("Trie is too large for a single mapping: " + size + " bytes");
+        }
+        return (int) size;
+    }
+
+    public boolean search(String word) {
+        int state = walk(word);
+        return state >= 0 && buffer.get(finalsOffset + state) != 0;
+    }
+
+    public boolean startsWith(String prefix) {
+        return walk(prefix) >= 0;
+    }
+
+    public int stateCount() {
+        return states;
+    }
+
+    private int walk(String word) {
+        int state = root;
+        for (int i = 0; i < word.length() && state >= 0; i++) {
+            state = transition(state, word.charAt(i));
+        }
+        return state;
+    }
+
+    private int transition(int state, char c) {
+        int low = buffer.getInt(edgeStartOffset + state * Integer.BYTES);
+        int high = buffer.getInt(edgeStartOffset + (state + 1) * Integer.BYTES) - 1;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            char midChar = buffer.getChar(edgeCharsOffset + mid * Character.BYTES);
+            if (midChar < c) {
+                low = mid + 1;
+            } else if (midChar > c) {
+                high = mid - 1;
+            } else {
+                return buffer.getInt(edgeTargetsOffset + mid * Integer.BYTES);
+            }
+        }
+        return -1;
+    }
+
+    public static void main(String[] args) throws IOException {
+        Trie trie = new Trie();
+        trie.insert("apple");
+        trie.insert("ball");
+        trie.insert("bat");
+
+        Path file = Path.of(System.getProperty("java.io.tmpdir"), "words.trie");
+        trie.freeze().writeTo(file);
+        MappedTrie mapped = MappedTrie.open(file);
+
+        System.out.println("Search for apple, found: " + mapped.search("apple"));
+        System.out.println("Search for bat, found: " + mapped.search("bat"));
+        System.out.println("Search for bal, found: " + mapped.search("bal"));
+        System.out.println("Prefix Search for bal, found: " + mapped.startsWith("bal"));
+    }
+}
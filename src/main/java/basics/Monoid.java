@@ -0,0 +1,29 @@
+package basics;
+
+import java.util.function.BinaryOperator;
+
+/**
+ * Associative combine function with an identity element
+ *   - combine(identity(), x) == combine(x, identity()) == x
+ *   - Lets range structures answer empty ranges and skip null checks
+ */
+public interface Monoid<T> {
+
+    T identity();
+
+    T combine(T left, T right);
+
+    static <T> Monoid<T> of(T identity, BinaryOperator<T> combine) {
+        return new Monoid<>() {
+            @Override
+            public T identity() {
+                return identity;
+            }
+
+            @Override
+            public T combine(T left, T right) {
+                return combine.apply(left, right);
+            }
+        };
+    }
+}
@@ -0,0 +1,204 @@
+package basics;
+
+import java.util.Comparator;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Concurrent priority queue made of several Heap shards, each guarded by its own lock
+ *   - add() puts the element into a random shard, so writers rarely meet on the same lock
+ *   - RELAXED: poll() looks at the tops of two random shards and takes the better one with tryLock,
+ *     on contention it just picks two other shards instead of waiting.
+ *     The returned element is close to the minimum but not guaranteed to be it.
+ *   - STRICT: poll() locks every shard in order and takes the global minimum, same guarantee
+ *     as a single locked heap but still lets add() run on different shards in parallel
+ *   - Each shard publishes its current top in a volatile field so shards can be compared without locking
+ */
+@SuppressWarnings({"unchecked", "rawtypes"})
+public class MultiQueue<T> {
+
+    public enum Ordering { STRICT, RELAXED }
+
+    // Give up on random picks after this many misses and fall back to a full scan
+    private static final int MAX_RANDOM_ATTEMPTS = 8;
+
+    private final Shard<T>[] shards;
+    private final Comparator<T> cmp;
+    private final Ordering ordering;
+    private final AtomicInteger size;
+
+    public MultiQueue(Comparator<T> comparator) {
+        this(comparator, 2 * Runtime.getRuntime().availableProcessors(), Ordering.RELAXED);
+    }
+
+    public MultiQueue(Comparator<T> comparator, int shardCount, Ordering ordering) {
+        if (shardCount < 1) {
+            throw new IllegalArgumentException("Shard count must be positive");
+        }
+        this.shards = new Shard[shardCount];
+        for (int i = 0; i < shardCount; i++) {
+            shards[i] = new Shard<>(comparator);
+        }
+        this.cmp = comparator;
+        this.ordering = ordering;
+        this.size = new AtomicInteger();
+    }
+
+    public void add(T element) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        Shard<T> shard = shards[random.nextInt(shards.length)];
+        // Prefer a free shard, only block once a few have been busy
+        boolean locked = shard.lock.tryLock();
+        for (int attempt = 1; !locked && attempt < MAX_RANDOM_ATTEMPTS; attempt++) {
+            shard = shards[random.nextInt(shards.length)];
+            locked = shard.lock.tryLock();
+        }
+        if (!locked) {
+            shard.lock.lock();
+        }
+        try {
+            shard.add(element);
+        } finally {
+            shard.lock.unlock();
+        }
+        size.incrementAndGet();
+    }
+
+    /**
+     * Removes and returns the best element, or null if the queue is empty
+     */
+    public T poll() {
+        T element = ordering == Ordering.STRICT ? pollStrict() : pollRelaxed();
+        if (element != null) {
+            size.decrementAndGet();
+        }
+        return element;
+    }
+
+    public T remove() {
+        T element = poll();
+        if (element == null) {
+            throw new IllegalStateException("Queue is empty");
+        }
+        return element;
+    }
+
+    public boolean isEmpty() {
+        return size.get() == 0;
+    }
+
+    public int size() {
+        return size.get();
+    }
+
+    public Ordering getOrdering() {
+        return ordering;
+    }
+
+    private T pollRelaxed() {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        for (int attempt = 0; attempt < MAX_RANDOM_ATTEMPTS; attempt++) {
+            Shard<T> first = shards[random.nextInt(shards.length)];
+            Shard<T> second = shards[random.nextInt(shards.length)];
+            Shard<T> candidate = better(first, second);
+            if (candidate == null) continue;
+            if (candidate.lock.tryLock()) {
+                try {
+                    if (!candidate.heap.isEmpty()) {
+                        return candidate.remove();
+                    }
+                } finally {
+                    candidate.lock.unlock();
+                }
+            }
+        }
+        // Both picks kept hitting empty or busy shards, walk all shards before reporting empty
+        for (Shard<T> shard: shards) {
+            if (shard.top == null) continue;
+            shard.lock.lock();
+            try {
+                if (!shard.heap.isEmpty()) {
+                    return shard.remove();
+                }
+            } finally {
+                shard.lock.unlock();
+            }
+        }
+        return null;
+    }
+
+    private T pollStrict() {
+        // Locks are always taken in index order so strict pollers cannot deadlock each other
+        for (Shard<T> shard: shards) {
+            shard.lock.lock();
+        }
+        try {
+            Shard<T> best = null;
+            for (Shard<T> shard: shards) {
+                best = better(best, shard);
+            }
+            return best == null ? null : best.remove();
+        } finally {
+            for (int i = shards.length - 1; i >= 0; i--) {
+                shards[i].lock.unlock();
+            }
+        }
+    }
+
+    private Shard<T> better(Shard<T> first, Shard<T> second) {
+        Object firstTop = first == null ? null : first.top;
+        Object secondTop = second == null ? null : second.top;
+        if (firstTop == null) return secondTop == null ? null : second;
+        if (secondTop == null) return first;
+        return cmp.compare((T) firstTop, (T) secondTop) <= 0 ? first : second;
+    }
+
+    private static class Shard<T> {
+        private final ReentrantLock lock;
+        private final Heap<T> heap;
+        private volatile Object top;
+
+        private Shard(Comparator<T> comparator) {
+            this.lock = new ReentrantLock();
+            this.heap = new Heap<>(comparator);
+            this.top = null;
+        }
+
+        // Callers hold the lock
+        private void add(T element) {
+            heap.add(element);
+            top = heap.peek();
+        }
+
+        private T remove() {
+            T element = heap.remove();
+            top = heap.isEmpty() ? null : heap.peek();
+            return element;
+        }
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        MultiQueue<Integer> queue = new MultiQueue<>(Integer::compare, 4, Ordering.STRICT);
+        Thread[] writers = new Thread[4];
+        for (int t = 0; t < writers.length; t++) {
+            int offset = t;
+            writers[t] = new Thread(() -> {
+                for (int i = offset; i < 20; i += 4) {
+                    queue.add(i);
+                }
+            }, "writer-" + t);
+            writers[t].start();
+        }
+        for (Thread writer: writers) {
+            writer.join();
+        }
+
+        StringBuilder sorted = new StringBuilder();
+        Integer next;
+        while ((next = queue.poll()) != null) {
+            sorted.append(next).append(" ");
+        }
+        System.out.println("Strict order: " + sorted.toString().trim());
+    }
+}
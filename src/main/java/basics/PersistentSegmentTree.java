@@ -0,0 +1,121 @@
+package basics;
+
+import java.util.function.BiFunction;
+
+/**
+ * Immutable segment tree where every update returns a new version and keeps the old one queryable
+ *   - An update copies only the O(log n) nodes on the root-to-leaf path, all other nodes are shared
+ *   - Each PersistentSegmentTree instance is a version handle, a version that is no longer referenced
+ *     is garbage collected together with the nodes only it was using
+ *   - Nodes are objects with left/right links instead of array slots, since versions share subtrees
+ */
+public class PersistentSegmentTree<T> {
+
+    private final Node<T> root;
+    private final int size;
+    private final BiFunction<T, T, T> segmentFunction;
+    private final long version;
+
+    public PersistentSegmentTree(T[] elements, BiFunction<T, T, T> segmentFunction) {
+        if (elements.length == 0) {
+            throw new IllegalArgumentException("Elements must not be empty");
+        }
+        this.size = elements.length;
+        this.segmentFunction = segmentFunction;
+        this.root = buildTree(elements, 0, size - 1);
+        this.version = 0;
+    }
+
+    private PersistentSegmentTree(Node<T> root, int size, BiFunction<T, T, T> segmentFunction, long version) {
+        this.root = root;
+        this.size = size;
+        this.segmentFunction = segmentFunction;
+        this.version = version;
+    }
+
+    private Node<T> buildTree(T[] elements, int start, int end) {
+        if (start == end) {
+            return new Node<>(elements[start], null, null);
+        }
+        int mid = (start + end) / 2;
+        Node<T> left = buildTree(elements, start, mid);
+        Node<T> right = buildTree(elements, mid + 1, end);
+        return new Node<>(segmentFunction.apply(left.value(), right.value()), left, right);
+    }
+
+    /**
+     * Returns a new version with the element at index set to value, this version is unchanged
+     */
+    public PersistentSegmentTree<T> update(int index, T value) {
+        if (index < 0 || index >= size) {
+            throw new IndexOutOfBoundsException("Index " + index + " out of bounds for size " + size);
+        }
+        return new PersistentSegmentTree<>(update(root, 0, size - 1, index, value), size, segmentFunction, version + 1);
+    }
+
+    private Node<T> update(Node<T> node, int start, int end, int index, T value) {
+        if (start == end) {
+            return new Node<>(value, null, null);
+        }
+        int mid = (start + end) / 2;
+        // Copy the path, the untouched child is shared with the previous version
+        Node<T> left = node.left();
+        Node<T> right = node.right();
+        if (index <= mid) {
+            left = update(left, start, mid, index, value);
+        } else {
+            right = update(right, mid + 1, end, index, value);
+        }
+        return new Node<>(segmentFunction.apply(left.value(), right.value()), left, right);
+    }
+
+    public T query(int left, int right) {
+        return query(root, 0, size - 1, left, right);
+    }
+
+    private T query(Node<T> node, int start, int end, int left, int right) {
+
+        // No overlap with the current range
+        if (right < start || left > end) {
+            return null;
+        }
+
+        // Total overlap with current range
+        if (left <= start && end <= right) {
+            return node.value();
+        }
+
+        // Partial overlap, look for both sides
+        int mid = (start + end) / 2;
+        T leftResult = query(node.left(), start, mid, left, right);
+        T rightResult = query(node.right(), mid + 1, end, left, right);
+
+        if (leftResult == null) return rightResult;
+        if (rightResult == null) return leftResult;
+        return segmentFunction.apply(leftResult, rightResult);
+    }
+
+    /**
+     * Number of updates between the initial tree and this version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    private record Node<T>(T value, Node<T> left, Node<T> right) {}
+
+    public static void main(String[] args) {
+        Integer[] arr = {1, 3, 5, 7, 9, 11};
+        PersistentSegmentTree<Integer> v0 = new PersistentSegmentTree<>(arr, Integer::sum);
+        PersistentSegmentTree<Integer> v1 = v0.update(1, 10); // Update index 1 to 10
+        PersistentSegmentTree<Integer> v2 = v1.update(3, 0); // Update index 3 to 0
+
+        System.out.println("Version " + v0.getVersion() + " Range Sum (1-3): " + v0.query(1, 3)); // Output: 15
+        System.out.println("Version " + v1.getVersion() + " Range Sum (1-3): " + v1.query(1, 3)); // Output: 22
+        System.out.println("Version " + v2.getVersion() + " Range Sum (1-3): " + v2.query(1, 3)); // Output: 15
+    }
+}
@@ -0,0 +1,140 @@
+package basics;
+
+import java.util.Arrays;
+
+/**
+ * Memory compact Trie with the same insert/search/startsWith API as Trie
+ *   - Children are kept sparse: a sorted char[] of first edge chars next to a Node[] of the same length,
+ *     found by binary search, instead of a 128 slot array per node
+ *   - Chains of single child nodes are collapsed into one edge with a multi char label (radix compression),
+ *     so a node only exists where words branch or end
+ *   - Any char is allowed, not only the 128 ASCII values
+ */
+public class RadixTrie {
+
+    private final Node root;
+
+    public RadixTrie() {
+        this.root = new Node(new char[0], false);
+    }
+
+    public void insert(String word) {
+        Node node = root;
+        int index = 0;
+        while (index < word.length()) {
+            Node child = node.getChild(word.charAt(index));
+            if (child == null) {
+                node.addChild(new Node(word.substring(index).toCharArray(), true));
+                return;
+            }
+            int matched = commonPrefix(child.label, word, index);
+            if (matched < child.label.length) {
+                // Word leaves the edge midway, split it so the common part gets its own node
+                Node split = new Node(Arrays.copyOf(child.label, matched), false);
+                child.label = Arrays.copyOfRange(child.label, matched, child.label.length);
+                split.addChild(child);
+                node.replaceChild(split);
+                child = split;
+            }
+            node = child;
+            index += matched;
+        }
+        node.isWord = true;
+    }
+
+    public boolean search(String word) {
+        Node node = root;
+        int index = 0;
+        while (index < word.length()) {
+            Node child = node.getChild(word.charAt(index));
+            if (child == null) return false;
+            if (commonPrefix(child.label, word, index) < child.label.length) return false;
+            node = child;
+            index += child.label.length;
+        }
+        return node.isWord;
+    }
+
+    public boolean startsWith(String prefix) {
+        Node node = root;
+        int index = 0;
+        while (index < prefix.length()) {
+            Node child = node.getChild(prefix.charAt(index));
+            if (child == null) return false;
+            int matched = commonPrefix(child.label, prefix, index);
+            // Prefix may end in the middle of an edge
+            if (index + matched == prefix.length()) return true;
+            if (matched < child.label.length) return false;
+            node = child;
+            index += matched;
+        }
+        return true;
+    }
+
+    private static int commonPrefix(char[] label, String word, int from) {
+        int max = Math.min(label.length, word.length() - from);
+        int matched = 0;
+        while (matched < max && label[matched] == word.charAt(from + matched)) {
+            matched++;
+        }
+        return matched;
+    }
+
+    private static class Node {
+        private static final char[] NO_KEYS = new char[0];
+        private static final Node[] NO_CHILDREN = new Node[0];
+
+        private char[] label; // edge label leading into this node
+        private boolean isWord;
+        private char[] keys; // first char of each child label, sorted
+        private Node[] children;
+
+        private Node(char[] label, boolean isWord) {
+            this.label = label;
+            this.isWord = isWord;
+            this.keys = NO_KEYS;
+            this.children = NO_CHILDREN;
+        }
+
+        private Node getChild(char c) {
+            int index = Arrays.binarySearch(keys, c);
+            return index >= 0 ? children[index] : null;
+        }
+
+        private void addChild(Node child) {
+            char c = child.label[0];
+            int index = -(Arrays.binarySearch(keys, c) + 1);
+            // Arrays are kept exactly sized, most nodes have one or two children
+            char[] newKeys = new char[keys.length + 1];
+            Node[] newChildren = new Node[children.length + 1];
+            System.arraycopy(keys, 0, newKeys, 0, index);
+            System.arraycopy(children, 0, newChildren, 0, index);
+            newKeys[index] = c;
+            newChildren[index] = child;
+            System.arraycopy(keys, index, newKeys, index + 1, keys.length - index);
+            System.arraycopy(children, index, newChildren, index + 1, children.length - index);
+            keys = newKeys;
+            children = newChildren;
+        }
+
+        private void replaceChild(Node child) {
+            children[Arrays.binarySearch(keys, child.label[0])] = child;
+        }
+    }
+
+    public static void main(String[] args) {
+        RadixTrie trie = new RadixTrie();
+        trie.insert("apple");
+        trie.insert("ball");
+        trie.insert("bat");
+        trie.insert("ba");
+
+        System.out.println("Search for apple, found: " + trie.search("apple"));
+        System.out.println("Search for bat, found: " + trie.search("bat"));
+        System.out.println("Search for ba, found: " + trie.search("ba"));
+        System.out.println("Search for bal, found: " + trie.search("bal"));
+        System.out.println("Prefix Search for bal, found: " + trie.startsWith("bal"));
+        System.out.println("Prefix Search for app, found: " + trie.startsWith("app"));
+        System.out.println("Prefix Search for bx, found: " + trie.startsWith("bx"));
+    }
+}
@@ -0,0 +1,107 @@
+package basics;
+
+/**
+ * Union find over int ids 0..n-1 that can undo unions
+ *   - Union by rank and no path compression, so every union changes O(1) fields and find() stays O(log n)
+ *   - Each successful union pushes the linked root and whether the rank grew onto a history stack
+ *   - checkpoint() returns the current history depth, rollbackTo() undoes unions back to that depth (LIFO)
+ */
+public class RollbackUnionFind {
+
+    private final int[] parent;
+    private final int[] rank;
+    private final int[] historyChild; // root that was linked under another root
+    private final boolean[] historyRankGrew;
+    private int historySize;
+    private int components;
+
+    public RollbackUnionFind(int elements) {
+        this.parent = new int[elements];
+        this.rank = new int[elements];
+        // At most n - 1 unions can succeed, so the history never needs to grow
+        this.historyChild = new int[Math.max(elements - 1, 0)];
+        this.historyRankGrew = new boolean[Math.max(elements - 1, 0)];
+        this.historySize = 0;
+        this.components = elements;
+        for (int i = 0; i < elements; i++) {
+            parent[i] = i;
+        }
+    }
+
+    public int find(int element) {
+        while (parent[element] != element) {
+            element = parent[element];
+        }
+        return element;
+    }
+
+    /**
+     * Merges the sets of both elements, returns false if they were already in the same set
+     */
+    public boolean union(int element1, int element2) {
+        int rep1 = find(element1);
+        int rep2 = find(element2);
+        if (rep1 == rep2) return false;
+
+        if (rank[rep1] < rank[rep2]) {
+            int temp = rep1;
+            rep1 = rep2;
+            rep2 = temp;
+        }
+        boolean rankGrew = rank[rep1] == rank[rep2];
+        parent[rep2] = rep1;
+        if (rankGrew) rank[rep1]++;
+
+        historyChild[historySize] = rep2;
+        historyRankGrew[historySize] = rankGrew;
+        historySize++;
+        components--;
+        return true;
+    }
+
+    public boolean sameSet(int element1, int element2) {
+        return find(element1) == find(element2);
+    }
+
+    public int checkpoint() {
+        return historySize;
+    }
+
+    /**
+     * Undoes every union made after the checkpoint was taken
+     */
+    public void rollbackTo(int checkpoint) {
+        if (checkpoint < 0 || checkpoint > historySize) {
+            throw new IllegalArgumentException("Invalid checkpoint " + checkpoint + ", history size " + historySize);
+        }
+        while (historySize > checkpoint) {
+            historySize--;
+            int child = historyChild[historySize];
+            int root = parent[child];
+            if (historyRankGrew[historySize]) rank[root]--;
+            parent[child] = child;
+            components++;
+        }
+    }
+
+    /**
+     * Number of disjoint sets
+     */
+    public int getSize() {
+        return components;
+    }
+
+    public static void main(String[] args) {
+        RollbackUnionFind unionFind = new RollbackUnionFind(8);
+        unionFind.union(1, 5);
+        int checkpoint = unionFind.checkpoint();
+        unionFind.union(4, 6);
+        unionFind.union(5, 7);
+
+        System.out.println("Total Sets: " + unionFind.getSize()); // Output: 5
+        System.out.println("1 and 7 connected: " + unionFind.sameSet(1, 7)); // Output: true
+        unionFind.rollbackTo(checkpoint);
+        System.out.println("After rollback Total Sets: " + unionFind.getSize()); // Output: 7
+        System.out.println("After rollback 1 and 7 connected: " + unionFind.sameSet(1, 7)); // Output: false
+    }
+}
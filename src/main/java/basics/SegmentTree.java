@@ -1,5 +1,6 @@
 package basics;
 
+import java.util.Arrays;
 import java.util.function.BiFunction;
 
 @SuppressWarnings("unchecked")
@@ -22,6 +23,10 @@ public class SegmentTree<T> {
         buildTree(elements, 0, 0, size-1);
     }
 
+    public SegmentTree(T[] elements, Monoid<T> monoid) {
+        this(elements, monoid::combine);
+    }
+
     private void buildTree(T[] elements, int nodeIndex, int start, int end) {
         if (start == end) {
             // child node is the element node
@@ -63,6 +68,66 @@ public class SegmentTree<T> {
         }
     }
 
+    /**
+     * Applies all point updates, then recomputes every affected internal node once
+     * If an index repeats, the last value for it wins
+     */
+    public void updateAll(int[] indices, T[] values) {
+        if (indices.length != values.length) {
+            throw new IllegalArgumentException("Got " + indices.length + " indices but " + values.length + " values");
+        }
+        updateAll(indices, values, indices.length);
+    }
+
+    void updateAll(int[] indices, Object[] values, int count) {
+        if (count == 0) return;
+        // Sort (index, position) pairs packed into longs, equal indices stay in submission order
+        long[] order = new long[count];
+        for (int i = 0; i < count; i++) {
+            if (indices[i] < 0 || indices[i] >= size) {
+                throw new IndexOutOfBoundsException("Index " + indices[i] + " out of bounds for size " + size);
+            }
+            order[i] = ((long) indices[i] << 32) | i;
+        }
+        Arrays.sort(order);
+        updateAll(0, 0, size - 1, order, 0, count, values);
+    }
+
+    private void updateAll(int nodeIndex, int start, int end, long[] order, int from, int to, Object[] values) {
+        if (start == end) {
+            // Last submitted value for this leaf
+            tree[nodeIndex] = values[(int) order[to - 1]];
+            return;
+        }
+        int mid = (start + end) / 2;
+        int leftChildIndex = (2 * nodeIndex) + 1;
+        int rightChildIndex = (2 * nodeIndex) + 2;
+
+        // Updates in [from, split) go left, [split, to) go right. The keys are sorted, so split is the
+        // first key of an index above mid, found by binary search to keep a batch at O(k log n)
+        long firstRight = (long) (mid + 1) << 32;
+        int lo = from;
+        int hi = to;
+        while (lo < hi) {
+            int m = (lo + hi) >>> 1;
+            if (order[m] < firstRight) {
+                lo = m + 1;
+            } else {
+                hi = m;
+            }
+        }
+        int split = lo;
+        if (split > from) {
+            updateAll(leftChildIndex, start, mid, order, from, split, values);
+        }
+        if (split < to) {
+            updateAll(rightChildIndex, mid + 1, end, order, split, to, values);
+        }
+
+        // Re-calculate the parent node value once for the whole batch
+        tree[nodeIndex] = segmentFunction.apply((T) tree[leftChildIndex], (T) tree[rightChildIndex]);
+    }
+
     public T query(int left, int right) {
         return query(0, 0, size-1, left, right);
     }
@@ -109,5 +174,7 @@ public class SegmentTree<T> {
         System.out.println("Initial Range Sum (1-3): " + st.query(1, 3)); // Output: 15
         st.update(1, 10); // Update index 1 to 10
         System.out.println("Updated Range Sum (1-3): " + st.query(1, 3)); // Output: 22
+        st.updateAll(new int[] {0, 2, 5}, new Integer[] {2, 6, 12}); // Batch update indices 0, 2 and 5
+        System.out.println("Batch Updated Range Sum (0-5): " + st.query(0, 5)); // Output: 46
     }
 }
@@ -0,0 +1,153 @@
+package basics;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Incremental connected components over an endless edge stream, with a user defined aggregate per component
+ *   - Nodes get dense int ids and are unioned in an IntUnionFind, no batch recomputation
+ *   - Every component root holds an aggregate A, on union the two aggregates are merged with the Monoid
+ *     (sum/min/max/count of node attributes, or a record holding several of them)
+ *   - Component count is O(1), aggregate and size lookups are one find() away
+ *   - A MergeListener is told about every union that actually joined two components
+ */
+public class StreamingComponents<T, A> {
+
+    @FunctionalInterface
+    public interface MergeListener<T, A> {
+
+        // node1 and node2 were in different components and now share one with the given aggregate and size
+        void onMerge(T node1, T node2, A aggregate, int size);
+    }
+
+    private final Monoid<A> monoid;
+    private final Map<T, Integer> ids;
+    private final IntUnionFind unionFind;
+    private final List<A> aggregates; // indexed by node id, only valid for roots
+    private final List<MergeListener<T, A>> listeners;
+
+    public StreamingComponents(Monoid<A> monoid) {
+        this.monoid = monoid;
+        this.ids = new HashMap<>();
+        this.unionFind = new IntUnionFind(0);
+        this.aggregates = new ArrayList<>();
+        this.listeners = new ArrayList<>();
+    }
+
+    public void addListener(MergeListener<T, A> listener) {
+        listeners.add(listener);
+    }
+
+    /**
+     * Adds the node as its own component, or folds the attribute into its current component
+     */
+    public void addNode(T node, A attribute) {
+        Integer id = ids.get(node);
+        if (id == null) {
+            id = unionFind.makeSet();
+            ids.put(node, id);
+            aggregates.add(attribute);
+        } else {
+            int root = unionFind.find(id);
+            aggregates.set(root, monoid.combine(aggregates.get(root), attribute));
+        }
+    }
+
+    /**
+     * Connects both nodes, unknown nodes are added with the identity aggregate
+     * Returns true if two components were merged
+     */
+    public boolean addEdge(T node1, T node2) {
+        int id1 = idOf(node1);
+        int id2 = idOf(node2);
+        int root1 = unionFind.find(id1);
+        int root2 = unionFind.find(id2);
+        if (!unionFind.union(root1, root2)) {
+            return false;
+        }
+
+        int root = unionFind.find(root1);
+        A merged = monoid.combine(aggregates.get(root1), aggregates.get(root2));
+        aggregates.set(root, merged);
+        // Drop the reference held by the absorbed root
+        aggregates.set(root == root1 ? root2 : root1, null);
+
+        int size = unionFind.componentSize(root);
+        for (MergeListener<T, A> listener: listeners) {
+            listener.onMerge(node1, node2, merged, size);
+        }
+        return true;
+    }
+
+    public A getAggregate(T node) {
+        return aggregates.get(unionFind.find(existingId(node)));
+    }
+
+    public int componentSize(T node) {
+        return unionFind.componentSize(existingId(node));
+    }
+
+    public boolean sameComponent(T node1, T node2) {
+        return unionFind.sameSet(existingId(node1), existingId(node2));
+    }
+
+    public boolean contains(T node) {
+        return ids.containsKey(node);
+    }
+
+    public int componentCount() {
+        return unionFind.getSize();
+    }
+
+    public int nodeCount() {
+        return unionFind.elementCount();
+    }
+
+    private int idOf(T node) {
+        Integer id = ids.get(node);
+        if (id != null) return id;
+        addNode(node, monoid.identity());
+        return ids.get(node);
+    }
+
+    private int existingId(T node) {
+        Integer id = ids.get(node);
+        if (id == null) {
+            throw new IllegalArgumentException("Unknown node: " + node);
+        }
+        return id;
+    }
+
+    private record Stats(long count, long sum, long min, long max) {
+        static final Stats EMPTY = new Stats(0, 0, Long.MAX_VALUE, Long.MIN_VALUE);
+
+        static Stats of(long value) {
+            return new Stats(1, value, value, value);
+        }
+
+        Stats combine(Stats other) {
+            return new Stats(count + other.count, sum + other.sum, Math.min(min, other.min), Math.max(max, other.max));
+        }
+    }
+
+    public static void main(String[] args) {
+        StreamingComponents<String, Stats> components = new StreamingComponents<>(Monoid.of(Stats.EMPTY, Stats::combine));
+        components.addListener((a, b, stats, size) ->
+                System.out.println("Merged " + a + " and " + b + " -> size " + size + ", " + stats));
+
+        components.addNode("a", Stats.of(5));
+        components.addNode("b", Stats.of(3));
+        components.addNode("c", Stats.of(10));
+        components.addNode("d", Stats.of(1));
+
+        components.addEdge("a", "b");
+        components.addEdge("c", "d");
+        components.addEdge("b", "a"); // Already connected, no event
+        components.addEdge("a", "d");
+
+        System.out.println("Components: " + components.componentCount()); // Output: 1
+        System.out.println("Aggregate of c: " + components.getAggregate("c")); // count 4, sum 19, min 1, max 10
+    }
+}
@@ -0,0 +1,136 @@
+package basics;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.Comparator;
+import java.util.List;
+import java.util.stream.Collector;
+
+/**
+ * Keeps the K greatest elements seen so far according to the comparator, in O(K) memory
+ *   - Backed by a bounded min heap, so the root is the weakest element still kept
+ *   - Once full, an element that does not beat the root is rejected with a single compare
+ *   - Partial results from parallel streams can be merged, see collector()
+ */
+@SuppressWarnings("unchecked")
+public class TopK<T> {
+
+    private final int k;
+    private final Object[] array;
+    private int size;
+    private final Comparator<T> cmp;
+
+    public TopK(int k, Comparator<T> comparator) {
+        if (k < 1) {
+            throw new IllegalArgumentException("K must be positive");
+        }
+        this.k = k;
+        this.array = new Object[k];
+        this.size = 0;
+        this.cmp = comparator;
+    }
+
+    /**
+     * Returns true if the element is now among the top K
+     */
+    public boolean offer(T element) {
+        if (size < k) {
+            heapifyUp(size, element);
+            size++;
+            return true;
+        }
+        if (cmp.compare(element, (T) array[0]) <= 0) {
+            return false;
+        }
+        // Replace the weakest element and let the new one sink to its place
+        heapifyDown(0, element);
+        return true;
+    }
+
+    public TopK<T> merge(TopK<T> other) {
+        for (int i = 0; i < other.size; i++) {
+            offer((T) other.array[i]);
+        }
+        return this;
+    }
+
+    /**
+     * Weakest of the kept elements, any new element has to beat it once K are kept
+     */
+    public T peekThreshold() {
+        if (size == 0) {
+            throw new IllegalStateException("TopK is empty");
+        }
+        return (T) array[0];
+    }
+
+    public boolean isFull() {
+        return size == k;
+    }
+
+    public int size() {
+        return size;
+    }
+
+    /**
+     * Kept elements, best first
+     */
+    public List<T> toSortedList() {
+        List<T> result = new ArrayList<>(size);
+        for (int i = 0; i < size; i++) {
+            result.add((T) array[i]);
+        }
+        result.sort(Collections.reverseOrder(cmp));
+        return result;
+    }
+
+    /**
+     * Collects the K greatest stream elements into a list, best first
+     */
+    public static <T> Collector<T, ?, List<T>> collector(int k, Comparator<T> comparator) {
+        return Collector.of(
+                () -> new TopK<>(k, comparator),
+                TopK::offer,
+                TopK::merge,
+                TopK::toSortedList,
+                Collector.Characteristics.UNORDERED);
+    }
+
+    private void heapifyUp(int index, T element) {
+        while (index > 0) {
+            int pIndex = (index - 1) / 2;
+            if (cmp.compare(element, (T) array[pIndex]) >= 0) break;
+            array[index] = array[pIndex];
+            index = pIndex;
+        }
+        array[index] = element;
+    }
+
+    private void heapifyDown(int index, T element) {
+        int half = size / 2;
+        while (index < half) {
+            int candidate = 2 * index + 1;
+            int rcIndex = candidate + 1;
+            if (rcIndex < size && cmp.compare((T) array[rcIndex], (T) array[candidate]) < 0) {
+                candidate = rcIndex;
+            }
+            if (cmp.compare(element, (T) array[candidate]) <= 0) break;
+            array[index] = array[candidate];
+            index = candidate;
+        }
+        array[index] = element;
+    }
+
+    public static void main(String[] args) {
+        TopK<Integer> topK = new TopK<>(3, Integer::compare);
+        for (int value: new int[] {4, 7, 2, 9, 1, 8, 3}) {
+            topK.offer(value);
+        }
+        System.out.println("Top 3: " + topK.toSortedList()); // [9, 8, 7]
+
+        List<String> longest = List.of("kiwi", "banana", "fig", "strawberry", "apple", "raspberry")
+                .parallelStream()
+                .collect(TopK.collector(2, Comparator.comparingInt(String::length)));
+        System.out.println("Longest 2: " + longest); // [strawberry, raspberry]
+    }
+}
@@ -1,5 +1,13 @@
 package basics;
 
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.Deque;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
 import java.util.Optional;
 
 public class Trie {
@@ -10,16 +18,47 @@ public class Trie {
         this.root = TrieNode.buildRoot();
     }
 
+    /**
+     * Inserts the word, an already present word keeps its weight and new words get weight 0
+     */
     public void insert(String word) {
-        TrieNode node = root;
-        for (char c: word.toCharArray()) {
-            if (!node.hasChild(c)) {
-                node.addChild(c);
-            }
-            node = node.getChild(c).orElseThrow(
-                    () -> new IllegalStateException("Illegal state of Trie"));
+        insert(root, word, 0, 0, true);
+    }
+
+    /**
+     * Inserts the word or updates its weight, higher weights rank first in topCompletions
+     */
+    public void insert(String word, long weight) {
+        insert(root, word, 0, weight, false);
+    }
+
+    private static final int UNCHANGED = 0;
+    private static final int RAISED = 1;
+    private static final int LOWERED = 2;
+
+    /**
+     * Single walk down the word, the cached best weights are refreshed on the way back up.
+     * Returns how the weight at the end of the word changed, only a lowered weight needs a rescan of children.
+     */
+    private int insert(TrieNode node, String word, int index, long weight, boolean keepWeight) {
+        int change;
+        if (index == word.length()) {
+            if (node.getIsWord() && (keepWeight || weight == node.getWeight())) return UNCHANGED;
+            change = (node.getIsWord() && weight < node.getWeight()) ? LOWERED : RAISED;
+            node.setIsWord();
+            node.setWeight(weight);
+        } else {
+            char c = word.charAt(index);
+            node.addChild(c);
+            change = insert(node.children[c], word, index + 1, weight, keepWeight);
+        }
+
+        if (change == LOWERED) {
+            node.recomputeMaxWeight();
+        } else if (change == RAISED) {
+            node.setMaxWeight(Math.max(node.getMaxWeight(), weight));
         }
-        node.setIsWord();
+        return change;
     }
 
     public boolean search(String word) {
@@ -42,13 +81,197 @@ public class Trie {
         return true;
     }
 
+    /**
+     * Lazily enumerates all words starting with the prefix in lexicographic order
+     */
+    public Iterator<String> wordsWithPrefix(String prefix) {
+        return new PrefixIterator(findNode(prefix), prefix);
+    }
+
+    /**
+     * Returns up to k words starting with the prefix, highest weight first
+     * Best first search guided by the cached best weight of each subtree, so only the subtrees
+     * that can still contain one of the k best words are expanded
+     */
+    public List<String> topCompletions(String prefix, int k) {
+        List<String> result = new ArrayList<>(k);
+        TrieNode start = findNode(prefix);
+        if (start == null || k <= 0) return result;
+
+        Heap<Candidate> queue = new Heap<>((a, b) -> {
+            int cmp = Long.compare(b.weight(), a.weight());
+            // On equal weight a finished word comes before subtrees that can at best tie with it
+            return (cmp != 0) ? cmp : Boolean.compare(b.complete(), a.complete());
+        });
+        // Candidates only link to their parent, the String is built once a word is actually emitted
+        queue.add(new Candidate(start, null, '\0', prefix.length(), start.getMaxWeight(), false));
+        while (!queue.isEmpty() && result.size() < k) {
+            Candidate top = queue.remove();
+            if (top.complete()) {
+                result.add(top.text(prefix));
+                continue;
+            }
+            TrieNode node = top.node();
+            if (node.getIsWord()) {
+                queue.add(new Candidate(node, top.parent(), top.c(), top.length(), node.getWeight(), true));
+            }
+            // Walk the set bits of the child masks instead of all 128 slots
+            for (int half = 0; half < 2; half++) {
+                long mask = half == 0 ? node.childMaskLow : node.childMaskHigh;
+                while (mask != 0) {
+                    char c = (char) (64 * half + Long.numberOfTrailingZeros(mask));
+                    mask &= mask - 1;
+                    TrieNode child = node.children[c];
+                    queue.add(new Candidate(child, top, c, top.length() + 1, child.getMaxWeight(), false));
+                }
+            }
+        }
+        return result;
+    }
+
+    private TrieNode findNode(String prefix) {
+        TrieNode node = root;
+        for (int i = 0; i < prefix.length(); i++) {
+            char c = prefix.charAt(i);
+            if (c >= node.children.length || !node.hasChild(c)) return null;
+            node = node.children[c];
+        }
+        return node;
+    }
+
+    /**
+     * Builds an immutable, suffix shared copy of the current words for read only use
+     * The Trie itself stays usable, later inserts are not reflected in the frozen copy
+     */
+    public FrozenTrie freeze() {
+        // States are registered bottom up, so a node's children always get their ids first
+        Map<String, Integer> registry = new HashMap<>();
+        List<char[]> stateChars = new ArrayList<>();
+        List<int[]> stateTargets = new ArrayList<>();
+        List<Boolean> stateFinal = new ArrayList<>();
+        int rootState = register(root, registry, stateChars, stateTargets, stateFinal);
+
+        int states = stateFinal.size();
+        int[] edgeStart = new int[states + 1];
+        for (int s = 0; s < states; s++) {
+            edgeStart[s + 1] = edgeStart[s] + stateChars.get(s).length;
+        }
+        char[] edgeChars = new char[edgeStart[states]];
+        int[] edgeTargets = new int[edgeStart[states]];
+        boolean[] finalStates = new boolean[states];
+        for (int s = 0; s < states; s++) {
+            System.arraycopy(stateChars.get(s), 0, edgeChars, edgeStart[s], stateChars.get(s).length);
+            System.arraycopy(stateTargets.get(s), 0, edgeTargets, edgeStart[s], stateTargets.get(s).length);
+            finalStates[s] = stateFinal.get(s);
+        }
+        return new FrozenTrie(edgeStart, edgeChars, edgeTargets, finalStates, rootState);
+    }
+
+    private int register(TrieNode node, Map<String, Integer> registry,
+                         List<char[]> stateChars, List<int[]> stateTargets, List<Boolean> stateFinal) {
+        int count = 0;
+        for (TrieNode child: node.children) {
+            if (child != null) count++;
+        }
+        char[] chars = new char[count];
+        int[] targets = new int[count];
+        int edge = 0;
+        for (char c = 0; c < node.children.length; c++) {
+            if (node.children[c] != null) {
+                chars[edge] = c;
+                targets[edge] = register(node.children[c], registry, stateChars, stateTargets, stateFinal);
+                edge++;
+            }
+        }
+
+        // Two nodes are equivalent when they agree on isWord and on every outgoing edge
+        StringBuilder signature = new StringBuilder(1 + 3 * count);
+        signature.append(node.isWord ? '1' : '0');
+        for (int i = 0; i < count; i++) {
+            signature.append(chars[i]).append((char) (targets[i] >>> 16)).append((char) targets[i]);
+        }
+        return registry.computeIfAbsent(signature.toString(), key -> {
+            stateChars.add(chars);
+            stateTargets.add(targets);
+            stateFinal.add(node.isWord);
+            return stateFinal.size() - 1;
+        });
+    }
+
+    private record Candidate(TrieNode node, Candidate parent, char c, int length, long weight, boolean complete) {
+
+        // The prefix followed by the chars on the parent chain
+        private String text(String prefix) {
+            char[] chars = new char[length];
+            prefix.getChars(0, prefix.length(), chars, 0);
+            for (Candidate candidate = this; candidate.parent() != null; candidate = candidate.parent()) {
+                chars[candidate.length() - 1] = candidate.c();
+            }
+            return new String(chars);
+        }
+    }
+
+    private static class PrefixIterator implements Iterator<String> {
+        private final Deque<TrieNode> nodes = new ArrayDeque<>();
+        private final Deque<String> texts = new ArrayDeque<>();
+        private String next;
+
+        private PrefixIterator(TrieNode start, String prefix) {
+            if (start != null) {
+                nodes.push(start);
+                texts.push(prefix);
+            }
+            advance();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return next != null;
+        }
+
+        @Override
+        public String next() {
+            if (next == null) {
+                throw new NoSuchElementException();
+            }
+            String word = next;
+            advance();
+            return word;
+        }
+
+        // Depth first walk, children pushed in reverse so the smallest char is visited first
+        private void advance() {
+            next = null;
+            while (next == null && !nodes.isEmpty()) {
+                TrieNode node = nodes.pop();
+                String text = texts.pop();
+                for (int c = node.children.length - 1; c >= 0; c--) {
+                    if (node.children[c] != null) {
+                        nodes.push(node.children[c]);
+                        texts.push(text + (char) c);
+                    }
+                }
+                if (node.getIsWord()) {
+                    next = text;
+                }
+            }
+        }
+    }
+
     private static class TrieNode {
         private final TrieNode[] children;
         private boolean isWord;
+        private long weight;
+        private long maxWeight; // best weight of any word in this subtree
+        // Bit c set when children[c] exists, chars 0-63 in low and 64-127 in high
+        private long childMaskLow;
+        private long childMaskHigh;
 
         private TrieNode () {
             this.children = new TrieNode[128];
             this.isWord = false;
+            this.weight = 0;
+            this.maxWeight = Long.MIN_VALUE;
         }
 
         public static TrieNode buildRoot() {
@@ -62,6 +285,11 @@ public class Trie {
         public void addChild(char c) {
             if (!hasChild(c)) {
                 children[c] = new TrieNode();
+                if (c < 64) {
+                    childMaskLow |= 1L << c;
+                } else {
+                    childMaskHigh |= 1L << c;
+                }
             }
         }
 
@@ -76,6 +304,33 @@ public class Trie {
         public boolean getIsWord() {
             return isWord;
         }
+
+        public long getWeight() {
+            return weight;
+        }
+
+        public void setWeight(long weight) {
+            this.weight = weight;
+        }
+
+        public long getMaxWeight() {
+            return maxWeight;
+        }
+
+        public void setMaxWeight(long maxWeight) {
+            this.maxWeight = maxWeight;
+        }
+
+        public void recomputeMaxWeight() {
+            long best = isWord ? weight : Long.MIN_VALUE;
+            for (long mask = childMaskLow; mask != 0; mask &= mask - 1) {
+                best = Math.max(best, children[Long.numberOfTrailingZeros(mask)].maxWeight);
+            }
+            for (long mask = childMaskHigh; mask != 0; mask &= mask - 1) {
+                best = Math.max(best, children[64 + Long.numberOfTrailingZeros(mask)].maxWeight);
+            }
+            maxWeight = best;
+        }
     }
 
     public static void main(String[] args) {
@@ -88,5 +343,13 @@ public class Trie {
         System.out.println("Search for bat, found: " + trie.search("bat"));
         System.out.println("Search for bal, found: " + trie.search("bal"));
         System.out.println("Prefix Search for bal, found: " + trie.search("bal"));
+
+        trie.insert("bath", 5);
+        trie.insert("ball", 9);
+        trie.insert("bat", 7);
+        List<String> completions = new ArrayList<>();
+        trie.wordsWithPrefix("ba").forEachRemaining(completions::add);
+        System.out.println("Words with prefix ba: " + completions);
+        System.out.println("Top 2 completions for ba: " + trie.topCompletions("ba", 2));
     }
 }
@@ -0,0 +1,93 @@
+package basics.benchmark;
+
+import basics.ConcurrentTrie;
+import basics.Trie;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import java.util.function.Consumer;
+import java.util.function.Predicate;
+
+/**
+ * Mixed read/write throughput: one writer keeps loading words while reader threads search
+ *   - Trie behind a read/write lock against ConcurrentTrie with lock free reads
+ */
+public class ConcurrentTrieBenchmark {
+
+    private static final int WORDS = 200_000;
+    private static final long DURATION_MILLIS = 2_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        String[] words = TrieBenchmark.generateWords(WORDS, new Random(42));
+        int maxReaders = Math.max(4, Runtime.getRuntime().availableProcessors());
+
+        System.out.printf("%-8s %-24s %-24s%n", "readers", "locked Trie (M reads/s)", "ConcurrentTrie (M reads/s)");
+        for (int readers = 1; readers <= maxReaders; readers *= 2) {
+            Trie trie = new Trie();
+            ReentrantReadWriteLock lock = new ReentrantReadWriteLock();
+            double locked = run(words, readers,
+                    word -> {
+                        lock.writeLock().lock();
+                        try {
+                            trie.insert(word);
+                        } finally {
+                            lock.writeLock().unlock();
+                        }
+                    },
+                    word -> {
+                        lock.readLock().lock();
+                        try {
+                            return trie.search(word);
+                        } finally {
+                            lock.readLock().unlock();
+                        }
+                    });
+
+            ConcurrentTrie concurrentTrie = new ConcurrentTrie();
+            double lockFree = run(words, readers, concurrentTrie::insert, concurrentTrie::search);
+            System.out.printf("%-8d %-24.2f %-24.2f%n", readers, locked, lockFree);
+        }
+    }
+
+    private static double run(String[] words, int readers, Consumer<String> insert, Predicate<String> search)
+            throws InterruptedException {
+        // Half of the dictionary is there up front, the writer streams in the rest
+        for (int i = 0; i < words.length / 2; i++) {
+            insert.accept(words[i]);
+        }
+        long deadline = System.currentTimeMillis() + DURATION_MILLIS;
+        LongAdder reads = new LongAdder();
+
+        List<Thread> threads = new ArrayList<>();
+        threads.add(new Thread(() -> {
+            int next = words.length / 2;
+            while (System.currentTimeMillis() < deadline) {
+                insert.accept(words[next]);
+                next = (next + 1 < words.length) ? next + 1 : words.length / 2;
+            }
+        }, "writer"));
+        for (int r = 0; r < readers; r++) {
+            int seed = r;
+            threads.add(new Thread(() -> {
+                Random random = new Random(seed);
+                long count = 0;
+                while ((count & 1023) != 0 || System.currentTimeMillis() < deadline) {
+                    search.test(words[random.nextInt(words.length)]);
+                    count++;
+                }
+                reads.add(count);
+            }, "reader-" + r));
+        }
+
+        long start = System.nanoTime();
+        threads.forEach(Thread::start);
+        for (Thread thread: threads) {
+            thread.join();
+        }
+        double seconds = (System.nanoTime() - start) / 1e9;
+        return reads.sum() / seconds / 1e6;
+    }
+}
@@ -0,0 +1,148 @@
+package basics.benchmark;
+
+import basics.graph.Boruvka;
+import basics.graph.CsrGraph;
+import basics.graph.CsrPrims;
+import basics.graph.GraphEdge;
+import basics.graph.GraphNode;
+import basics.graph.Kruskal;
+import basics.graph.Prims;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.function.DoubleSupplier;
+import java.util.function.Supplier;
+
+/**
+ * MST over a random connected graph
+ *   - Retained bytes per edge of the map based adjacency (held by Prims) against CsrGraph
+ *   - Kruskal and Prims on the edge list against the CsrGraph versions
+ *   - Double weights: generic Prims<Double> against Prims.mstEdgeIds on a double weighted CsrGraph
+ *   - Kruskal SORT against FILTER on a dense graph
+ *   - Parallel Boruvka at 1..N fork/join threads against Filter-Kruskal and Prims
+ */
+public class GraphBenchmark {
+
+    private static final int NODES = 200_000;
+    private static final int EDGES = 1_000_000;
+
+    public static void main(String[] args) {
+        List<GraphEdge<Integer>> edges = generateEdges(NODES, EDGES, new Random(42));
+
+        long before = TrieBenchmark.usedMemory();
+        Prims<Integer> prims = new Prims<>(edges, Comparator.comparingInt(a -> a));
+        long mapBytes = TrieBenchmark.usedMemory() - before;
+        before = TrieBenchmark.usedMemory();
+        CsrGraph<Integer> csr = CsrGraph.undirected(edges, Integer::longValue);
+        long csrBytes = TrieBenchmark.usedMemory() - before;
+        System.out.printf("Adjacency bytes/edge: map %.1f, csr %.1f%n",
+                (double) mapBytes / EDGES, (double) csrBytes / EDGES);
+
+        time("Kruskal", () -> new Kruskal<>(edges, Comparator.comparingInt(a -> a)).buildMST());
+        time("Kruskal sort", () -> Kruskal.buildMST(csr, Kruskal.Strategy.SORT));
+        time("Kruskal filter", () -> Kruskal.buildMST(csr, Kruskal.Strategy.FILTER));
+        time("Prims", prims::buildMST);
+        time("Prims csr", () -> Prims.buildMST(csr));
+
+        // Same graph with double weights: generic Prims on Double against the primitive CsrGraph path
+        List<GraphNode<Double>> doubleNodes = new ArrayList<>(NODES);
+        for (int i = 0; i < NODES; i++) {
+            doubleNodes.add(new GraphNode<>((double) i));
+        }
+        List<GraphEdge<Double>> doubleEdges = new ArrayList<>(edges.size());
+        for (GraphEdge<Integer> e: edges) {
+            doubleEdges.add(new GraphEdge<>(e.weight() / 1000.0,
+                    doubleNodes.get(e.from().data()), doubleNodes.get(e.to().data())));
+        }
+        CsrGraph<Double> doubleCsr = CsrGraph.undirectedDouble(doubleEdges, Double::doubleValue);
+        timeIds("Prims<Double>", () -> {
+            Set<GraphEdge<Double>> mst = new Prims<>(doubleEdges, Double::compare).buildMST();
+            return mst.stream().mapToDouble(GraphEdge::weight).sum();
+        });
+        timeIds("Prims csr ids", () -> {
+            double weight = 0;
+            for (int edgeId: Prims.mstEdgeIds(doubleCsr)) weight += doubleCsr.edgeDoubleWeight(edgeId);
+            return weight;
+        });
+
+        // Dense graph, where Filter-Kruskal drops most heavy edges without sorting them
+        List<GraphEdge<Integer>> dense = generateEdges(NODES / 10, EDGES * 4, new Random(7));
+        CsrGraph<Integer> denseCsr = CsrGraph.undirected(dense, Integer::longValue);
+        System.out.printf("Dense graph, %d nodes, %d edges:%n", denseCsr.nodeCount(), denseCsr.edgeCount());
+        for (Kruskal.Strategy strategy: Kruskal.Strategy.values()) {
+            timeIds("Kruskal " + strategy.name().toLowerCase(), () -> weightOf(denseCsr,
+                    Kruskal.mstEdgeIds(denseCsr, strategy)));
+        }
+        timeIds("Prims csr ids", () -> weightOf(denseCsr, Prims.mstEdgeIds(denseCsr)));
+        CsrPrims<Integer> reusedPrims = new CsrPrims<>(denseCsr);
+        int[] mstBuffer = new int[denseCsr.nodeCount() - 1];
+        timeIds("CsrPrims reused", () -> {
+            reusedPrims.mstEdgeIds(mstBuffer);
+            return weightOf(denseCsr, mstBuffer);
+        });
+
+        // Parallel Boruvka against the sequential CsrGraph versions on both graphs
+        int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        for (CsrGraph<Integer> graph: List.of(csr, denseCsr)) {
+            System.out.printf("Boruvka, %d nodes, %d edges:%n", graph.nodeCount(), graph.edgeCount());
+            timeIds("Kruskal filter", () -> weightOf(graph, Kruskal.mstEdgeIds(graph, Kruskal.Strategy.FILTER)));
+            timeIds("Prims csr ids", () -> weightOf(graph, Prims.mstEdgeIds(graph)));
+            for (int threads = 1; threads <= maxThreads; threads *= 2) {
+                ForkJoinPool pool = new ForkJoinPool(threads);
+                timeIds(String.format("Boruvka %2d thr", threads),
+                        () -> weightOf(graph, Boruvka.mstEdgeIds(graph, pool)));
+                pool.shutdown();
+            }
+        }
+    }
+
+    private static void time(String name, Supplier<Set<GraphEdge<Integer>>> mst) {
+        long best = Long.MAX_VALUE;
+        long weight = 0;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            Set<GraphEdge<Integer>> result = mst.get();
+            best = Math.min(best, System.nanoTime() - start);
+            weight = result.stream().mapToLong(GraphEdge::weight).sum();
+        }
+        System.out.printf("%-16s %6d ms (weight %d)%n", name, best / 1_000_000, weight);
+    }
+
+    private static double weightOf(CsrGraph<?> graph, int[] edgeIds) {
+        double weight = 0;
+        for (int edgeId: edgeIds) weight += graph.edgeDoubleWeight(edgeId);
+        return weight;
+    }
+
+    private static void timeIds(String name, DoubleSupplier mstWeight) {
+        long best = Long.MAX_VALUE;
+        double weight = 0;
+        for (int round = 0; round < 3; round++) {
+            long start = System.nanoTime();
+            weight = mstWeight.getAsDouble();
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-16s %6d ms (weight %.3f)%n", name, best / 1_000_000, weight);
+    }
+
+    // A random spanning tree plus random extra edges, so the graph is connected
+    static List<GraphEdge<Integer>> generateEdges(int nodeCount, int edgeCount, Random random) {
+        List<GraphNode<Integer>> nodes = new ArrayList<>(nodeCount);
+        for (int i = 0; i < nodeCount; i++) {
+            nodes.add(new GraphNode<>(i));
+        }
+        List<GraphEdge<Integer>> edges = new ArrayList<>(edgeCount);
+        for (int i = 1; i < nodeCount; i++) {
+            edges.add(new GraphEdge<>(random.nextInt(1_000_000), nodes.get(random.nextInt(i)), nodes.get(i)));
+        }
+        while (edges.size() < edgeCount) {
+            edges.add(new GraphEdge<>(random.nextInt(1_000_000),
+                    nodes.get(random.nextInt(nodeCount)), nodes.get(random.nextInt(nodeCount))));
+        }
+        return edges;
+    }
+}
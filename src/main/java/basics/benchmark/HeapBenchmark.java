@@ -0,0 +1,86 @@
+package basics.benchmark;
+
+import basics.DaryHeap;
+import basics.DoubleHeap;
+import basics.Heap;
+import basics.IntHeap;
+import basics.LongHeap;
+
+import java.util.Random;
+
+/**
+ * Fill-then-drain comparison of the generic Heap against the d-ary and primitive heaps
+ *   - Each round adds N random keys and removes all of them
+ *   - First rounds are warmup for the JIT, only the best round is reported
+ */
+public class HeapBenchmark {
+
+    private static final int N = 1_000_000;
+    private static final int ROUNDS = 10;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        int[] data = new int[N];
+        for (int i = 0; i < N; i++) {
+            data[i] = random.nextInt();
+        }
+
+        Integer[] boxed = new Integer[N];
+        for (int i = 0; i < N; i++) {
+            boxed[i] = data[i];
+        }
+
+        long sink = 0;
+        long generic = Long.MAX_VALUE;
+        long dary = Long.MAX_VALUE;
+        long daryBulk = Long.MAX_VALUE;
+        long ints = Long.MAX_VALUE;
+        long longs = Long.MAX_VALUE;
+        long doubles = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            Heap<Integer> heap = new Heap<>(Integer::compare);
+            for (Integer key: boxed) heap.add(key);
+            while (!heap.isEmpty()) sink += heap.remove();
+            generic = Math.min(generic, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            DaryHeap<Integer> daryHeap = new DaryHeap<>(Integer::compare);
+            for (Integer key: boxed) daryHeap.add(key);
+            while (!daryHeap.isEmpty()) sink += daryHeap.remove();
+            dary = Math.min(dary, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            Integer[] sorted = DaryHeap.from(boxed, Integer::compare).drainTo(new Integer[N]);
+            sink += sorted[N - 1];
+            daryBulk = Math.min(daryBulk, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            IntHeap intHeap = new IntHeap();
+            for (int key: data) intHeap.add(key);
+            while (!intHeap.isEmpty()) sink += intHeap.remove();
+            ints = Math.min(ints, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            LongHeap longHeap = new LongHeap();
+            for (int key: data) longHeap.add(key);
+            while (!longHeap.isEmpty()) sink += longHeap.remove();
+            longs = Math.min(longs, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            DoubleHeap doubleHeap = new DoubleHeap();
+            for (int key: data) doubleHeap.add(key);
+            while (!doubleHeap.isEmpty()) sink += (long) doubleHeap.remove();
+            doubles = Math.min(doubles, System.nanoTime() - start);
+        }
+
+        System.out.println("Fill + drain of " + N + " keys, best of " + ROUNDS + " rounds");
+        System.out.println("Heap<Integer>:  " + generic / 1_000_000 + " ms");
+        System.out.println("DaryHeap (d=4): " + dary / 1_000_000 + " ms");
+        System.out.println("DaryHeap bulk:  " + daryBulk / 1_000_000 + " ms");
+        System.out.println("IntHeap:        " + ints / 1_000_000 + " ms");
+        System.out.println("LongHeap:       " + longs / 1_000_000 + " ms");
+        System.out.println("DoubleHeap:     " + doubles / 1_000_000 + " ms");
+        System.out.println("(checksum " + sink + ")");
+    }
+}
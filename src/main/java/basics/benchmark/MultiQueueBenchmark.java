@@ -0,0 +1,85 @@
+package basics.benchmark;
+
+import basics.Heap;
+import basics.MultiQueue;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.function.Consumer;
+import java.util.function.Supplier;
+
+/**
+ * Throughput of a shared priority queue under 1..N threads
+ *   - Every thread runs the same mix: add a random key, then poll one
+ *   - Compares a single locked Heap, PriorityBlockingQueue and MultiQueue in both orderings
+ */
+public class MultiQueueBenchmark {
+
+    private static final int OPS_PER_THREAD = 500_000;
+    private static final int PREFILL = 100_000;
+
+    private interface SharedQueue {
+        void add(Integer element);
+        Integer poll();
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        System.out.println("Million ops/sec with " + OPS_PER_THREAD + " add+poll pairs per thread");
+        System.out.printf("%-8s %-14s %-22s %-20s %-20s%n",
+                "threads", "locked Heap", "PriorityBlockingQueue", "MultiQueue strict", "MultiQueue relaxed");
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            int shardCount = 2 * threads;
+            Heap<Integer> heap = new Heap<>(Integer::compare);
+            SharedQueue locked = new SharedQueue() {
+                @Override
+                public synchronized void add(Integer element) { heap.add(element); }
+                @Override
+                public synchronized Integer poll() { return heap.isEmpty() ? null : heap.remove(); }
+            };
+            PriorityBlockingQueue<Integer> pbq = new PriorityBlockingQueue<>(PREFILL, Integer::compare);
+            MultiQueue<Integer> strict = new MultiQueue<>(Integer::compare, shardCount, MultiQueue.Ordering.STRICT);
+            MultiQueue<Integer> relaxed = new MultiQueue<>(Integer::compare, shardCount, MultiQueue.Ordering.RELAXED);
+
+            System.out.printf("%-8d %-14.2f %-22.2f %-20.2f %-20.2f%n", threads,
+                    run(locked, threads),
+                    run(wrap(pbq::add, pbq::poll), threads),
+                    run(wrap(strict::add, strict::poll), threads),
+                    run(wrap(relaxed::add, relaxed::poll), threads));
+        }
+    }
+
+    private static SharedQueue wrap(Consumer<Integer> add, Supplier<Integer> poll) {
+        return new SharedQueue() {
+            @Override
+            public void add(Integer element) { add.accept(element); }
+            @Override
+            public Integer poll() { return poll.get(); }
+        };
+    }
+
+    private static double run(SharedQueue queue, int threads) throws InterruptedException {
+        for (int i = 0; i < PREFILL; i++) {
+            queue.add(ThreadLocalRandom.current().nextInt());
+        }
+        List<Thread> workers = new ArrayList<>();
+        for (int t = 0; t < threads; t++) {
+            workers.add(new Thread(() -> {
+                ThreadLocalRandom random = ThreadLocalRandom.current();
+                for (int i = 0; i < OPS_PER_THREAD; i++) {
+                    queue.add(random.nextInt());
+                    queue.poll();
+                }
+            }, "worker-" + t));
+        }
+        long start = System.nanoTime();
+        workers.forEach(Thread::start);
+        for (Thread worker: workers) {
+            worker.join();
+        }
+        long elapsed = System.nanoTime() - start;
+        return 2.0 * OPS_PER_THREAD * threads / (elapsed / 1_000.0);
+    }
+}
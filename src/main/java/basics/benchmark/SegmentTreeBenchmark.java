@@ -0,0 +1,89 @@
+package basics.benchmark;
+
+import basics.LongFenwickTree;
+import basics.LongSegmentTree;
+import basics.SegmentTree;
+
+import java.util.Random;
+
+/**
+ * Generic SegmentTree<Long> against the primitive bottom up LongSegmentTree and LongFenwickTree
+ *   - Build over N values, then a mix of random point updates and range sum queries
+ */
+public class SegmentTreeBenchmark {
+
+    private static final int N = 2_000_000;
+    private static final int OPS = 2_000_000;
+    private static final int ROUNDS = 5;
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        long[] values = new long[N];
+        Long[] boxed = new Long[N];
+        for (int i = 0; i < N; i++) {
+            values[i] = random.nextInt(1000);
+            boxed[i] = values[i];
+        }
+        int[] indices = new int[2 * OPS];
+        for (int i = 0; i < indices.length; i++) {
+            indices[i] = random.nextInt(N);
+        }
+
+        long sink = 0;
+        long genericBuild = Long.MAX_VALUE, genericOps = Long.MAX_VALUE;
+        long primitiveBuild = Long.MAX_VALUE, primitiveOps = Long.MAX_VALUE;
+        long fenwickBuild = Long.MAX_VALUE, fenwickOps = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            SegmentTree<Long> generic = new SegmentTree<>(boxed, Long::sum);
+            genericBuild = Math.min(genericBuild, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (int op = 0; op < OPS; op++) {
+                int a = indices[2 * op], b = indices[2 * op + 1];
+                if ((op & 1) == 0) {
+                    generic.update(a, (long) b);
+                } else {
+                    sink += generic.query(Math.min(a, b), Math.max(a, b));
+                }
+            }
+            genericOps = Math.min(genericOps, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            LongSegmentTree primitive = LongSegmentTree.sum(values);
+            primitiveBuild = Math.min(primitiveBuild, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (int op = 0; op < OPS; op++) {
+                int a = indices[2 * op], b = indices[2 * op + 1];
+                if ((op & 1) == 0) {
+                    primitive.update(a, b);
+                } else {
+                    sink += primitive.query(Math.min(a, b), Math.max(a, b));
+                }
+            }
+            primitiveOps = Math.min(primitiveOps, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            LongFenwickTree fenwick = new LongFenwickTree(values);
+            fenwickBuild = Math.min(fenwickBuild, System.nanoTime() - start);
+            start = System.nanoTime();
+            for (int op = 0; op < OPS; op++) {
+                int a = indices[2 * op], b = indices[2 * op + 1];
+                if ((op & 1) == 0) {
+                    fenwick.set(a, b);
+                } else {
+                    sink += fenwick.rangeSum(Math.min(a, b), Math.max(a, b));
+                }
+            }
+            fenwickOps = Math.min(fenwickOps, System.nanoTime() - start);
+        }
+
+        System.out.println("N = " + N + ", " + OPS + " ops (half updates, half range sums), best of " + ROUNDS);
+        System.out.printf("SegmentTree<Long>: build %d ms, ops %d ms, %d slots%n",
+                genericBuild / 1_000_000, genericOps / 1_000_000, 4L * N);
+        System.out.printf("LongSegmentTree:   build %d ms, ops %d ms, %d slots%n",
+                primitiveBuild / 1_000_000, primitiveOps / 1_000_000, 2L * N);
+        System.out.printf("LongFenwickTree:   build %d ms, ops %d ms, %d slots%n",
+                fenwickBuild / 1_000_000, fenwickOps / 1_000_000, N + 1L);
+        System.out.println("(checksum " + sink + ")");
+    }
+}
@@ -0,0 +1,69 @@
+package basics.benchmark;
+
+import basics.DoubleTopK;
+import basics.Heap;
+import basics.TopK;
+
+import java.util.Comparator;
+import java.util.List;
+import java.util.Random;
+import java.util.stream.IntStream;
+
+/**
+ * Top K of N scored items: full Heap drain against the bounded TopK collectors
+ */
+public class TopKBenchmark {
+
+    private static final int N = 2_000_000;
+    private static final int K = 100;
+    private static final int ROUNDS = 5;
+
+    private record Item(int id, double score) {}
+
+    public static void main(String[] args) {
+        Random random = new Random(42);
+        Item[] items = new Item[N];
+        for (int i = 0; i < N; i++) {
+            items[i] = new Item(i, random.nextDouble());
+        }
+        Comparator<Item> byScore = Comparator.comparingDouble(Item::score);
+
+        long sink = 0;
+        long heap = Long.MAX_VALUE;
+        long topK = Long.MAX_VALUE;
+        long doubleTopK = Long.MAX_VALUE;
+        long parallel = Long.MAX_VALUE;
+        for (int round = 0; round < ROUNDS; round++) {
+            long start = System.nanoTime();
+            Heap<Item> maxHeap = new Heap<>(byScore.reversed());
+            for (Item item: items) maxHeap.add(item);
+            for (int i = 0; i < K; i++) sink += maxHeap.remove().id();
+            heap = Math.min(heap, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            TopK<Item> bounded = new TopK<>(K, byScore);
+            for (Item item: items) bounded.offer(item);
+            sink += bounded.toSortedList().get(0).id();
+            topK = Math.min(topK, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            DoubleTopK<Item> primitive = new DoubleTopK<>(K);
+            for (Item item: items) primitive.offer(item, item.score());
+            sink += primitive.toSortedList().get(0).id();
+            doubleTopK = Math.min(doubleTopK, System.nanoTime() - start);
+
+            start = System.nanoTime();
+            List<Item> collected = IntStream.range(0, N).parallel().mapToObj(i -> items[i])
+                    .collect(DoubleTopK.collector(K, Item::score));
+            sink += collected.get(0).id();
+            parallel = Math.min(parallel, System.nanoTime() - start);
+        }
+
+        System.out.println("Top " + K + " of " + N + " items, best of " + ROUNDS + " rounds");
+        System.out.println("Heap drain:          " + heap / 1_000_000 + " ms");
+        System.out.println("TopK:                " + topK / 1_000_000 + " ms");
+        System.out.println("DoubleTopK:          " + doubleTopK / 1_000_000 + " ms");
+        System.out.println("DoubleTopK parallel: " + parallel / 1_000_000 + " ms");
+        System.out.println("(checksum " + sink + ")");
+    }
+}
@@ -0,0 +1,163 @@
+package basics.benchmark;
+
+import basics.MappedTrie;
+import basics.RadixTrie;
+import basics.Trie;
+
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Random;
+import java.util.Set;
+import java.util.function.Function;
+import java.util.function.Predicate;
+
+/**
+ * Bytes per key and lookup latency of the Trie variants over a generated dictionary,
+ * plus autocomplete latency on the weighted Trie and cold start of a memory mapped Trie
+ *   - Memory is measured as used heap before/after building with a few GCs in between,
+ *     rough but good enough to compare the layouts
+ */
+public class TrieBenchmark {
+
+    private static final int WORDS = 200_000;
+    private static final int LOOKUPS = 2_000_000;
+
+    public static void main(String[] args) {
+        String[] words = generateWords(WORDS, new Random(42));
+        String[] probes = new String[LOOKUPS];
+        Random random = new Random(7);
+        for (int i = 0; i < LOOKUPS; i++) {
+            String word = words[random.nextInt(WORDS)];
+            // Half hits, half misses that share a prefix with a real word
+            probes[i] = (i % 2 == 0) ? word : word + "q";
+        }
+
+        System.out.printf("%-12s %-14s %-14s%n", "layout", "bytes/key", "ns/lookup");
+        report("Trie", words, probes, dictionary -> {
+            Trie trie = new Trie();
+            for (String word: dictionary) trie.insert(word);
+            return trie::search;
+        });
+        report("RadixTrie", words, probes, dictionary -> {
+            RadixTrie trie = new RadixTrie();
+            for (String word: dictionary) trie.insert(word);
+            return trie::search;
+        });
+        report("FrozenTrie", words, probes, dictionary -> {
+            Trie trie = new Trie();
+            for (String word: dictionary) trie.insert(word);
+            // Only the frozen copy stays reachable
+            return trie.freeze()::search;
+        });
+
+        autocomplete(words);
+        coldStart(words, probes);
+    }
+
+    private static void coldStart(String[] words, String[] probes) {
+        try {
+            Path file = Files.createTempFile("words", ".trie");
+            Trie source = new Trie();
+            for (String word: words) source.insert(word);
+            source.freeze().writeTo(file);
+
+            long start = System.nanoTime();
+            Trie rebuilt = new Trie();
+            for (String word: words) rebuilt.insert(word);
+            long rebuild = System.nanoTime() - start;
+
+            start = System.nanoTime();
+            MappedTrie mapped = MappedTrie.open(file);
+            long open = System.nanoTime() - start;
+
+            int hits = 0;
+            start = System.nanoTime();
+            for (String probe: probes) {
+                if (mapped.search(probe)) hits++;
+            }
+            long lookups = System.nanoTime() - start;
+
+            System.out.printf("Startup: rebuild Trie %.1f ms (%d words), open MappedTrie %.3f ms (%d bytes)%n",
+                    rebuild / 1e6, words.length, open / 1e6, Files.size(file));
+            System.out.printf("MappedTrie lookup: %.1f ns (hits %d, rebuilt found first word: %b)%n",
+                    (double) lookups / probes.length, hits, rebuilt.search(words[0]));
+            Files.delete(file);
+        } catch (IOException e) {
+            throw new UncheckedIOException(e);
+        }
+    }
+
+    private static void autocomplete(String[] words) {
+        Trie trie = new Trie();
+        Random random = new Random(11);
+        for (String word: words) {
+            // Zipf-like weights, a few very popular words and a long tail
+            trie.insert(word, (long) (1_000_000 / (1 + random.nextInt(10_000))));
+        }
+
+        int queries = 100_000;
+        long[] latencies = new long[queries];
+        int results = 0;
+        for (int i = 0; i < queries; i++) {
+            String word = words[random.nextInt(words.length)];
+            String prefix = word.substring(0, 1 + random.nextInt(3));
+            long start = System.nanoTime();
+            results += trie.topCompletions(prefix, 10).size();
+            latencies[i] = System.nanoTime() - start;
+        }
+        Arrays.sort(latencies);
+        System.out.printf("Top 10 completions for 1-3 char prefixes: p50 %.1f us, p99 %.1f us (results %d)%n",
+                latencies[queries / 2] / 1_000.0, latencies[queries * 99 / 100] / 1_000.0, results);
+    }
+
+    private static void report(String name, String[] words, String[] probes,
+                               Function<String[], Predicate<String>> builder) {
+        long before = usedMemory();
+        Predicate<String> search = builder.apply(words);
+        long bytes = usedMemory() - before;
+
+        long best = Long.MAX_VALUE;
+        int hits = 0;
+        for (int round = 0; round < 5; round++) {
+            long start = System.nanoTime();
+            for (String probe: probes) {
+                if (search.test(probe)) hits++;
+            }
+            best = Math.min(best, System.nanoTime() - start);
+        }
+        System.out.printf("%-12s %-14d %-14.1f (hits %d)%n", name, bytes / words.length,
+                (double) best / probes.length, hits);
+    }
+
+    static String[] generateWords(int count, Random random) {
+        // Lowercase words with a skewed letter distribution so prefixes are shared like in real text
+        String letters = "eeeeaaaiioonnrrttsslcudpmhgbfywkvxzjq";
+        Set<String> words = new HashSet<>();
+        while (words.size() < count) {
+            int length = 3 + random.nextInt(10);
+            StringBuilder word = new StringBuilder(length);
+            for (int i = 0; i < length; i++) {
+                word.append(letters.charAt(random.nextInt(letters.length())));
+            }
+            words.add(word.toString());
+        }
+        return words.toArray(new String[0]);
+    }
+
+    static long usedMemory() {
+        Runtime runtime = Runtime.getRuntime();
+        long used = Long.MAX_VALUE;
+        // Keep collecting until the used heap stops shrinking
+        for (int i = 0; i < 10; i++) {
+            System.gc();
+            long now = runtime.totalMemory() - runtime.freeMemory();
+            if (now >= used) break;
+            used = now;
+        }
+        return used;
+    }
+}
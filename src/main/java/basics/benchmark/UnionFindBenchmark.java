@@ -0,0 +1,64 @@
+package basics.benchmark;
+
+import basics.ConcurrentUnionFind;
+import basics.IntUnionFind;
+import basics.UnionFind;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Connected components of a random graph
+ *   - Generic UnionFind<Integer> and IntUnionFind single threaded,
+ *     ConcurrentUnionFind with the edge list split into one range per thread
+ */
+public class UnionFindBenchmark {
+
+    private static final int NODES = 2_000_000;
+    private static final int EDGES = 4_000_000;
+
+    public static void main(String[] args) throws InterruptedException {
+        Random random = new Random(42);
+        int[] from = new int[EDGES];
+        int[] to = new int[EDGES];
+        for (int i = 0; i < EDGES; i++) {
+            from[i] = random.nextInt(NODES);
+            to[i] = random.nextInt(NODES);
+        }
+
+        long start = System.nanoTime();
+        UnionFind<Integer> generic = new UnionFind<>();
+        for (int i = 0; i < NODES; i++) generic.makeSet(i);
+        for (int i = 0; i < EDGES; i++) {
+            if (!generic.findSet(from[i]).equals(generic.findSet(to[i]))) generic.union(from[i], to[i]);
+        }
+        System.out.printf("UnionFind<Integer>:           %d ms, %d components%n",
+                (System.nanoTime() - start) / 1_000_000, generic.getSize());
+
+        start = System.nanoTime();
+        IntUnionFind sequential = new IntUnionFind(NODES);
+        for (int i = 0; i < EDGES; i++) sequential.union(from[i], to[i]);
+        System.out.printf("IntUnionFind:                 %d ms, %d components%n",
+                (System.nanoTime() - start) / 1_000_000, sequential.getSize());
+
+        int maxThreads = Math.max(4, Runtime.getRuntime().availableProcessors());
+        for (int threads = 1; threads <= maxThreads; threads *= 2) {
+            ConcurrentUnionFind concurrent = new ConcurrentUnionFind(NODES);
+            List<Thread> workers = new ArrayList<>();
+            int chunk = (EDGES + threads - 1) / threads;
+            for (int t = 0; t < threads; t++) {
+                int lo = t * chunk;
+                int hi = Math.min(EDGES, lo + chunk);
+                workers.add(new Thread(() -> {
+                    for (int i = lo; i < hi; i++) concurrent.union(from[i], to[i]);
+                }, "worker-" + t));
+            }
+            start = System.nanoTime();
+            workers.forEach(Thread::start);
+            for (Thread worker: workers) worker.join();
+            System.out.printf("ConcurrentUnionFind %2d thr:   %d ms, %d components%n",
+                    threads, (System.nanoTime() - start) / 1_000_000, concurrent.getSize());
+        }
+    }
+}
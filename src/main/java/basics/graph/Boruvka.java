@@ -0,0 +1,173 @@
+package basics.graph;
+
+import basics.ConcurrentUnionFind;
+
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.function.IntConsumer;
+
+/**
+ * Parallel Boruvka MST over a CsrGraph
+ *   - Every round each component picks its cheapest outgoing edge, then all picked edges are added at once,
+ *     so the number of components at least halves per round
+ *   - Cheapest edges are found with fork/join over ranges of the live edge ids,
+ *     each component keeps its candidate edge id in an AtomicIntegerArray updated by CAS
+ *   - Ties are broken by edge id, which makes the picked edges acyclic even with equal weights
+ *   - Components are contracted with a ConcurrentUnionFind, edges inside a component are dropped
+ *     from the live edges while scanning, so later rounds only look at edges that can still matter
+ */
+public class Boruvka {
+
+    // Edges (or components) handled by one fork/join leaf
+    private static final int GRAIN = 1 << 14;
+
+    private Boruvka() {}
+
+    public static <T> Set<GraphEdge<T>> buildMST(CsrGraph<T> graph) {
+        return buildMST(graph, ForkJoinPool.commonPool());
+    }
+
+    public static <T> Set<GraphEdge<T>> buildMST(CsrGraph<T> graph, ForkJoinPool pool) {
+        Set<GraphEdge<T>> mst = new HashSet<>();
+        for (int edgeId: mstEdgeIds(graph, pool)) {
+            mst.add(graph.edge(edgeId));
+        }
+        return mst;
+    }
+
+    /**
+     * Edge ids of a minimum spanning tree of the CsrGraph, computed on the given pool
+     */
+    public static int[] mstEdgeIds(CsrGraph<?> graph, ForkJoinPool pool) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Minimum Spanning Tree needs an undirected graph");
+        }
+        int n = graph.nodeCount();
+        if (n == 0) return new int[0];
+        int m = graph.edgeCount();
+        int[] live = new int[m];
+        for (int e = 0; e < m; e++) {
+            live[e] = e;
+        }
+        int[] roots = new int[n];
+        AtomicIntegerArray cheapest = new AtomicIntegerArray(n);
+        for (int node = 0; node < n; node++) {
+            roots[node] = node;
+            cheapest.set(node, -1);
+        }
+
+        ConcurrentUnionFind unionFind = new ConcurrentUnionFind(n);
+        int[] mst = new int[Math.max(0, n - 1)];
+        AtomicInteger size = new AtomicInteger();
+        int liveCount = m;
+        int rootCount = n;
+
+        while (size.get() < mst.length) {
+            // Drop edges inside a component and offer the rest to both end components, every leaf packs
+            // its kept edges to the front of its own range
+            int edgeChunks = chunkCount(liveCount);
+            int[] kept = new int[edgeChunks];
+            int edgeLimit = liveCount;
+            forEachChunk(pool, edgeChunks, chunk -> {
+                int lo = chunk * GRAIN;
+                int hi = Math.min(edgeLimit, lo + GRAIN);
+                int keep = lo;
+                for (int i = lo; i < hi; i++) {
+                    int edgeId = live[i];
+                    int rootFrom = unionFind.find(graph.edgeFrom(edgeId));
+                    int rootTo = unionFind.find(graph.edgeTo(edgeId));
+                    if (rootFrom != rootTo) {
+                        live[keep++] = edgeId;
+                        offer(graph, cheapest, rootFrom, edgeId);
+                        offer(graph, cheapest, rootTo, edgeId);
+                    }
+                }
+                kept[chunk] = keep - lo;
+            });
+            liveCount = 0;
+            for (int chunk = 0; chunk < edgeChunks; chunk++) {
+                System.arraycopy(live, chunk * GRAIN, live, liveCount, kept[chunk]);
+                liveCount += kept[chunk];
+            }
+            // No edge leaves any component, the graph is not connected
+            if (liveCount == 0) break;
+
+            // Add every picked edge, an edge picked by both of its components only unions once
+            int rootLimit = rootCount;
+            forEachChunk(pool, chunkCount(rootCount), chunk -> {
+                int hi = Math.min(rootLimit, (chunk + 1) * GRAIN);
+                for (int i = chunk * GRAIN; i < hi; i++) {
+                    int edgeId = cheapest.get(roots[i]);
+                    if (edgeId == -1) continue;
+                    cheapest.set(roots[i], -1);
+                    if (unionFind.union(graph.edgeFrom(edgeId), graph.edgeTo(edgeId))) {
+                        mst[size.getAndIncrement()] = edgeId;
+                    }
+                }
+            });
+
+            int next = 0;
+            for (int i = 0; i < rootCount; i++) {
+                if (unionFind.find(roots[i]) == roots[i]) roots[next++] = roots[i];
+            }
+            rootCount = next;
+        }
+
+        if (size.get() != n - 1) {
+            throw new IllegalStateException("Could not build a Minimum Spanning Tree");
+        }
+
+        return mst;
+    }
+
+    // Makes edgeId the candidate of the component if it is lighter than the current one
+    private static void offer(CsrGraph<?> graph, AtomicIntegerArray cheapest, int root, int edgeId) {
+        long weight = graph.edgeWeight(edgeId);
+        while (true) {
+            int current = cheapest.get(root);
+            if (current != -1) {
+                long currentWeight = graph.edgeWeight(current);
+                if (currentWeight < weight || (currentWeight == weight && current < edgeId)) return;
+            }
+            if (cheapest.compareAndSet(root, current, edgeId)) return;
+        }
+    }
+
+    private static int chunkCount(int items) {
+        return (items + GRAIN - 1) / GRAIN;
+    }
+
+    private static void forEachChunk(ForkJoinPool pool, int chunks, IntConsumer body) {
+        if (chunks > 0) {
+            pool.invoke(new ChunkTask(0, chunks, body));
+        }
+    }
+
+    // Splits [lo, hi) chunk indexes in halves until a single chunk is left
+    @SuppressWarnings("serial")
+    private static class ChunkTask extends RecursiveAction {
+        private final int lo;
+        private final int hi;
+        private final IntConsumer body;
+
+        ChunkTask(int lo, int hi, IntConsumer body) {
+            this.lo = lo;
+            this.hi = hi;
+            this.body = body;
+        }
+
+        @Override
+        protected void compute() {
+            if (hi - lo == 1) {
+                body.accept(lo);
+                return;
+            }
+            int mid = (lo + hi) >>> 1;
+            invokeAll(new ChunkTask(lo, mid, body), new ChunkTask(mid, hi, body));
+        }
+    }
+}
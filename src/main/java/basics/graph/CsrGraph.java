@@ -0,0 +1,197 @@
+package basics.graph;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.function.ToDoubleFunction;
+import java.util.function.ToLongFunction;
+
+/**
+ * Immutable graph in compressed sparse row form
+ *   - Nodes are numbered 0..n-1 through a dictionary built once from the edges
+ *   - Adjacency slots of node u are [offsets[u], offsets[u+1]) in targets/weights/edgeIds,
+ *     so visiting neighbours is a scan over contiguous primitive arrays, no records and no hashing
+ *   - An undirected edge takes one slot at each end. The weight is copied into both slots,
+ *     so relaxing a neighbour never leaves the slot arrays, edgeIds maps a slot back to the input edge
+ *   - Per edge id arrays (from, to, weight) serve the algorithms that walk edges instead of adjacency (Kruskal)
+ *   - The input edges are kept as well, indexed by edge id, so algorithms can return GraphEdge results
+ *   - Double weights are stored as order preserving long keys, so comparison based algorithms (MST)
+ *     run on the same long arrays. doubleWeight decodes them, additive algorithms must check hasDoubleWeights.
+ */
+public final class CsrGraph<T> {
+
+    private final List<GraphEdge<T>> edges;
+    private final List<GraphNode<T>> nodes;
+    private final Map<GraphNode<T>, Integer> ids;
+    private final boolean directed;
+    private final boolean doubleWeights;
+
+    private final int[] offsets;
+    private final int[] targets;
+    private final long[] weights;
+    private final int[] edgeIds;
+
+    // Per edge id
+    private final int[] edgeFrom;
+    private final int[] edgeTo;
+    private final long[] edgeWeights;
+
+    private CsrGraph(List<GraphEdge<T>> edges, ToLongFunction<T> weightFunction, boolean directed,
+                     boolean doubleWeights) {
+        this.edges = List.copyOf(edges);
+        this.directed = directed;
+        this.doubleWeights = doubleWeights;
+        this.nodes = new ArrayList<>();
+        this.ids = new HashMap<>();
+
+        int m = edges.size();
+        this.edgeFrom = new int[m];
+        this.edgeTo = new int[m];
+        this.edgeWeights = new long[m];
+        for (int e = 0; e < m; e++) {
+            GraphEdge<T> edge = edges.get(e);
+            edgeFrom[e] = idOf(edge.from());
+            edgeTo[e] = idOf(edge.to());
+            edgeWeights[e] = weightFunction.applyAsLong(edge.weight());
+        }
+
+        // Count the out degree of every node, prefix sum it into offsets, then fill the slots
+        int n = nodes.size();
+        this.offsets = new int[n + 1];
+        for (int e = 0; e < m; e++) {
+            offsets[edgeFrom[e] + 1]++;
+            if (!directed) offsets[edgeTo[e] + 1]++;
+        }
+        for (int u = 0; u < n; u++) {
+            offsets[u + 1] += offsets[u];
+        }
+        int slots = offsets[n];
+        this.targets = new int[slots];
+        this.weights = new long[slots];
+        this.edgeIds = new int[slots];
+        int[] next = offsets.clone();
+        for (int e = 0; e < m; e++) {
+            fill(next[edgeFrom[e]]++, edgeTo[e], e);
+            if (!directed) fill(next[edgeTo[e]]++, edgeFrom[e], e);
+        }
+    }
+
+    public static <T> CsrGraph<T> directed(List<GraphEdge<T>> edges, ToLongFunction<T> weightFunction) {
+        return new CsrGraph<>(edges, weightFunction, true, false);
+    }
+
+    public static <T> CsrGraph<T> undirected(List<GraphEdge<T>> edges, ToLongFunction<T> weightFunction) {
+        return new CsrGraph<>(edges, weightFunction, false, false);
+    }
+
+    public static <T> CsrGraph<T> directedDouble(List<GraphEdge<T>> edges, ToDoubleFunction<T> weightFunction) {
+        return new CsrGraph<>(edges, w -> orderKey(weightFunction.applyAsDouble(w)), true, true);
+    }
+
+    public static <T> CsrGraph<T> undirectedDouble(List<GraphEdge<T>> edges, ToDoubleFunction<T> weightFunction) {
+        return new CsrGraph<>(edges, w -> orderKey(weightFunction.applyAsDouble(w)), false, true);
+    }
+
+    // Flipping the magnitude bits of negative doubles makes signed long order match Double.compare order
+    static long orderKey(double weight) {
+        long bits = Double.doubleToLongBits(weight);
+        return bits ^ ((bits >> 63) & Long.MAX_VALUE);
+    }
+
+    static double fromOrderKey(long key) {
+        return Double.longBitsToDouble(key ^ ((key >> 63) & Long.MAX_VALUE));
+    }
+
+    private void fill(int slot, int target, int edgeId) {
+        targets[slot] = target;
+        weights[slot] = edgeWeights[edgeId];
+        edgeIds[slot] = edgeId;
+    }
+
+    private int idOf(GraphNode<T> node) {
+        Integer id = ids.get(node);
+        if (id == null) {
+            id = nodes.size();
+            ids.put(node, id);
+            nodes.add(node);
+        }
+        return id;
+    }
+
+    public int nodeCount() {
+        return nodes.size();
+    }
+
+    public int edgeCount() {
+        return edges.size();
+    }
+
+    public boolean isDirected() {
+        return directed;
+    }
+
+    public boolean hasDoubleWeights() {
+        return doubleWeights;
+    }
+
+    public int nodeId(GraphNode<T> node) {
+        Integer id = ids.get(node);
+        if (id == null) {
+            throw new IllegalArgumentException("Node not in graph: " + node);
+        }
+        return id;
+    }
+
+    public GraphNode<T> node(int id) {
+        return nodes.get(id);
+    }
+
+    // Adjacency of node u, slots [firstSlot(u), endSlot(u))
+
+    public int firstSlot(int u) {
+        return offsets[u];
+    }
+
+    public int endSlot(int u) {
+        return offsets[u + 1];
+    }
+
+    public int target(int slot) {
+        return targets[slot];
+    }
+
+    public long weight(int slot) {
+        return weights[slot];
+    }
+
+    public double doubleWeight(int slot) {
+        return doubleWeights ? fromOrderKey(weights[slot]) : weights[slot];
+    }
+
+    public int edgeId(int slot) {
+        return edgeIds[slot];
+    }
+
+    // Edges by id, in input order
+
+    public int edgeFrom(int edgeId) {
+        return edgeFrom[edgeId];
+    }
+
+    public int edgeTo(int edgeId) {
+        return edgeTo[edgeId];
+    }
+
+    public long edgeWeight(int edgeId) {
+        return edgeWeights[edgeId];
+    }
+
+    public double edgeDoubleWeight(int edgeId) {
+        return doubleWeights ? fromOrderKey(edgeWeights[edgeId]) : edgeWeights[edgeId];
+    }
+
+    public GraphEdge<T> edge(int edgeId) {
+        return edges.get(edgeId);
+    }
+}
@@ -0,0 +1,112 @@
+package basics.graph;
+
+import basics.IndexedIntHeap;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Set;
+
+/**
+ * Reusable Prims MST over a CsrGraph
+ *   - Node ids in an IndexedIntHeap keyed by the cheapest long weight (or double order key) into the tree
+ *   - Parent edge and heap arrays are allocated once and reused by every run. An epoch stamp marks which
+ *     parent entries belong to the current run, like Dijkstra, so nothing is cleared per run.
+ *     With a caller supplied result buffer a run allocates nothing.
+ *     This also means an instance must not be shared between threads.
+ */
+public class CsrPrims<T> {
+
+    private final CsrGraph<T> graph;
+
+    // Scratch state reused by every run
+    private final int[] parentEdge;
+    private final int[] epoch;
+    private final IndexedIntHeap queue;
+    private int currentEpoch;
+
+    public CsrPrims(CsrGraph<T> graph) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Minimum Spanning Tree needs an undirected graph");
+        }
+        int n = graph.nodeCount();
+        this.graph = graph;
+        this.parentEdge = new int[n];
+        this.epoch = new int[n];
+        this.queue = new IndexedIntHeap(Math.max(n, 1));
+        this.currentEpoch = 0;
+    }
+
+    public Set<GraphEdge<T>> buildMST() {
+        Set<GraphEdge<T>> mst = new HashSet<>();
+        for (int edgeId: mstEdgeIds()) {
+            mst.add(graph.edge(edgeId));
+        }
+        return mst;
+    }
+
+    public int[] mstEdgeIds() {
+        int[] result = new int[Math.max(0, graph.nodeCount() - 1)];
+        mstEdgeIds(result);
+        return result;
+    }
+
+    /**
+     * Writes the edge ids of a minimum spanning tree into result, in the order they joined the tree,
+     * and returns how many were written (nodeCount - 1)
+     */
+    public int mstEdgeIds(int[] result) {
+        int n = graph.nodeCount();
+        if (n == 0) return 0;
+        if (result.length < n - 1) {
+            throw new IllegalArgumentException("Result needs room for " + (n - 1) + " edges");
+        }
+        nextEpoch();
+        queue.clear();
+        int size = 0;
+
+        // A node is reached once its epoch is current, it is in the tree once reached and no longer queued
+        reach(0, -1);
+        queue.add(0, 0);
+        while (!queue.isEmpty()) {
+            int node = queue.remove();
+            if (parentEdge[node] != -1) {
+                result[size++] = parentEdge[node];
+            }
+
+            // Relax the adj node distances
+            for (int slot = graph.firstSlot(node); slot < graph.endSlot(node); slot++) {
+                int adj = graph.target(slot);
+                long weight = graph.weight(slot);
+                if (queue.contains(adj)) {
+                    if (queue.getKey(adj) > weight) {
+                        queue.decreaseKey(adj, weight);
+                        parentEdge[adj] = graph.edgeId(slot);
+                    }
+                } else if (epoch[adj] != currentEpoch) {
+                    reach(adj, graph.edgeId(slot));
+                    queue.add(adj, weight);
+                }
+            }
+        }
+
+        if (size != n - 1) {
+            throw new IllegalStateException("Could not build a Minimum Spanning Tree");
+        }
+
+        return size;
+    }
+
+    private void nextEpoch() {
+        currentEpoch++;
+        // After a wrap, stamps from 2^32 runs ago would look current again
+        if (currentEpoch == 0) {
+            Arrays.fill(epoch, 0);
+            currentEpoch = 1;
+        }
+    }
+
+    private void reach(int node, int edgeId) {
+        epoch[node] = currentEpoch;
+        parentEdge[node] = edgeId;
+    }
+}
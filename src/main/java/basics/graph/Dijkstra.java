@@ -1,4 +1,138 @@
 package basics.graph;
 
-public class Dijkstra {
+import basics.IndexedIntHeap;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Single source shortest paths with non-negative integer weights
+ *   - Runs on a CsrGraph, so relaxing an edge is array reads instead of map lookups
+ *   - Uses an IndexedIntHeap with decrease-key, every node is in the queue at most once
+ *   - Stops as soon as the target is settled
+ *   - Distance, parent and heap arrays are reused across queries. An epoch stamp marks which entries belong
+ *     to the current query, so nothing is cleared or allocated per query (apart from returned paths).
+ *     This also means an instance must not be shared between threads.
+ */
+public class Dijkstra<T> {
+
+    public static final long UNREACHABLE = Long.MAX_VALUE;
+
+    private final CsrGraph<T> graph;
+
+    // Scratch state reused by every query
+    private final long[] distance;
+    private final int[] parent;
+    private final int[] epoch;
+    private final IndexedIntHeap queue;
+    private int currentEpoch;
+
+    public Dijkstra(CsrGraph<T> graph) {
+        if (graph.hasDoubleWeights()) {
+            throw new IllegalArgumentException("Dijkstra needs integer weights");
+        }
+        int n = graph.nodeCount();
+        for (int e = 0; e < graph.edgeCount(); e++) {
+            if (graph.edgeWeight(e) < 0) {
+                throw new IllegalArgumentException("Negative edge weight: " + graph.edge(e));
+            }
+        }
+        this.graph = graph;
+        this.distance = new long[n];
+        this.parent = new int[n];
+        this.epoch = new int[n];
+        this.queue = new IndexedIntHeap(n);
+        this.currentEpoch = 0;
+    }
+
+    public static Dijkstra<Integer> of(List<GraphEdge<Integer>> edges, boolean directed) {
+        return new Dijkstra<>(directed
+                ? CsrGraph.directed(edges, Integer::longValue)
+                : CsrGraph.undirected(edges, Integer::longValue));
+    }
+
+    /**
+     * Shortest distance from source to target, or UNREACHABLE
+     */
+    public long distance(GraphNode<T> source, GraphNode<T> target) {
+        int targetId = graph.nodeId(target);
+        run(graph.nodeId(source), targetId);
+        return distanceOf(targetId);
+    }
+
+    /**
+     * Nodes on a shortest path from source to target, both included, or an empty list if unreachable
+     */
+    public List<GraphNode<T>> shortestPath(GraphNode<T> source, GraphNode<T> target) {
+        int targetId = graph.nodeId(target);
+        run(graph.nodeId(source), targetId);
+        List<GraphNode<T>> path = new ArrayList<>();
+        if (distanceOf(targetId) == UNREACHABLE) return path;
+        for (int node = targetId; node != -1; node = parent[node]) {
+            path.add(graph.node(node));
+        }
+        Collections.reverse(path);
+        return path;
+    }
+
+    /**
+     * Distances from source to every reachable node
+     */
+    public Map<GraphNode<T>, Long> shortestDistances(GraphNode<T> source) {
+        run(graph.nodeId(source), -1);
+        Map<GraphNode<T>, Long> result = new HashMap<>();
+        for (int node = 0; node < graph.nodeCount(); node++) {
+            if (distanceOf(node) != UNREACHABLE) {
+                result.put(graph.node(node), distanceOf(node));
+            }
+        }
+        return result;
+    }
+
+    // Settles nodes in distance order until the target (or everything reachable, when target is -1) is settled
+    private void run(int source, int target) {
+        nextEpoch();
+        queue.clear();
+        reach(source, 0, -1);
+        queue.add(source, 0);
+        while (!queue.isEmpty()) {
+            long currDist = queue.peekKey();
+            int node = queue.remove();
+            if (node == target) return;
+
+            // Relax the adj node distances
+            for (int slot = graph.firstSlot(node); slot < graph.endSlot(node); slot++) {
+                int adj = graph.target(slot);
+                long adjDist = currDist + graph.weight(slot);
+                // Settled nodes never pass this check since weights are non-negative
+                if (adjDist < distanceOf(adj)) {
+                    reach(adj, adjDist, node);
+                    queue.addOrDecrease(adj, adjDist);
+                }
+            }
+        }
+    }
+
+    private void nextEpoch() {
+        currentEpoch++;
+        // After a wrap, stamps from 2^32 queries ago would look current again
+        if (currentEpoch == 0) {
+            Arrays.fill(epoch, 0);
+            currentEpoch = 1;
+        }
+    }
+
+    private void reach(int node, long dist, int from) {
+        epoch[node] = currentEpoch;
+        distance[node] = dist;
+        parent[node] = from;
+    }
+
+    private long distanceOf(int node) {
+        return epoch[node] == currentEpoch ? distance[node] : UNREACHABLE;
+    }
 }
@@ -46,9 +46,48 @@ public class Driver {
         System.out.println("Running Kruskal for MST:");
         printMST(kruskal.buildMST());
 
-        Prims<Integer> prims = new Prims<>(edges);
+        Prims<Integer> prims = new Prims<>(edges, Comparator.comparingInt(a -> a));
         System.out.println("Running Prims for MST:");
         printMST(prims.buildMST());
+
+        CsrGraph<Integer> csr = CsrGraph.undirected(edges, Integer::longValue);
+        System.out.println("Running Kruskal on CSR graph:");
+        printMST(Kruskal.buildMST(csr));
+        System.out.println("Running Filter-Kruskal on CSR graph:");
+        printMST(Kruskal.buildMST(csr, Kruskal.Strategy.FILTER));
+        System.out.println("Running Prims on CSR graph:");
+        printMST(Prims.buildMST(csr));
+
+        System.out.println("Running parallel Boruvka on CSR graph:");
+        printMST(Boruvka.buildMST(csr));
+
+        // Latency weighted links, no Integer boxing on the CSR path
+        GraphNode<Double> east = new GraphNode<>(1.0);
+        GraphNode<Double> west = new GraphNode<>(2.0);
+        GraphNode<Double> south = new GraphNode<>(3.0);
+        List<GraphEdge<Double>> links = List.of(
+                new GraphEdge<>(12.5, east, west),
+                new GraphEdge<>(3.25, east, south),
+                new GraphEdge<>(4.75, south, west)
+        );
+        CsrGraph<Double> latency = CsrGraph.undirectedDouble(links, Double::doubleValue);
+        // A CsrPrims instance reuses its scratch arrays, with a result buffer a run allocates nothing
+        CsrPrims<Double> latencyPrims = new CsrPrims<>(latency);
+        int[] latencyMst = new int[latency.nodeCount() - 1];
+        int latencyEdges = latencyPrims.mstEdgeIds(latencyMst);
+        double latencyWeight = 0;
+        for (int i = 0; i < latencyEdges; i++) {
+            latencyWeight += latency.edgeDoubleWeight(latencyMst[i]);
+        }
+        System.out.println("Latency MST Weight: " + latencyWeight); // 8.0
+        System.out.println("Latency MST Weight (generic Prims): " + new Prims<>(links, Double::compare).buildMST()
+                .stream().mapToDouble(GraphEdge::weight).sum()); // 8.0
+
+        Dijkstra<Integer> dijkstra = Dijkstra.of(edges, false);
+        System.out.println("Running Dijkstra from {5}:");
+        System.out.println("Shortest path {5} -> {6}: " + dijkstra.shortestPath(node5, node6)
+                + ", distance: " + dijkstra.distance(node5, node6)); // 5 -> 1 -> 2 -> 6, distance 13
+        System.out.println("Distances: " + dijkstra.shortestDistances(node5));
     }
 
     private static void printMST(Set<GraphEdge<Integer>> mst) {
@@ -1,16 +1,33 @@
 package basics.graph;
 
+import basics.IntUnionFind;
 import basics.UnionFind;
 
+import java.util.Arrays;
 import java.util.Comparator;
 import java.util.HashSet;
 import java.util.List;
 import java.util.PriorityQueue;
 import java.util.Set;
+import java.util.concurrent.ThreadLocalRandom;
 
-
+/**
+ * Kruskal MST
+ *   - buildMST(): generic weights through a comparator, edges polled from a PriorityQueue
+ *   - CsrGraph versions work on int edge and node ids with an IntUnionFind and stop after n-1 accepted edges
+ *   - SORT: one primitive sort of all edges (Arrays.parallelSort for large inputs)
+ *   - FILTER: Filter-Kruskal, quicksort style partitioning around a pivot weight. The light half is solved first,
+ *     then edges of the heavy half whose ends are already connected are dropped before it is looked at,
+ *     so on dense graphs most heavy edges are never sorted.
+ */
 public class Kruskal<T> {
 
+    public enum Strategy { SORT, FILTER }
+
+    // Below this many edges Filter-Kruskal just sorts
+    private static final int FILTER_BASE_CASE = 1 << 12;
+    private static final int PARALLEL_SORT_THRESHOLD = 1 << 16;
+
     private final List<GraphEdge<T>> edges;
     private final Comparator<T> weightComparator;
     private final UnionFind<GraphNode<T>> unionFind;
@@ -56,4 +73,171 @@ public class Kruskal<T> {
 
         return mst;
     }
+
+    /**
+     * Kruskal over a CsrGraph with the SORT strategy
+     */
+    public static <T> Set<GraphEdge<T>> buildMST(CsrGraph<T> graph) {
+        return buildMST(graph, Strategy.SORT);
+    }
+
+    public static <T> Set<GraphEdge<T>> buildMST(CsrGraph<T> graph, Strategy strategy) {
+        Set<GraphEdge<T>> mst = new HashSet<>();
+        for (int edgeId: mstEdgeIds(graph, strategy)) {
+            mst.add(graph.edge(edgeId));
+        }
+        return mst;
+    }
+
+    /**
+     * Edge ids of a minimum spanning tree of the CsrGraph, in the order they were accepted
+     */
+    public static int[] mstEdgeIds(CsrGraph<?> graph, Strategy strategy) {
+        if (graph.isDirected()) {
+            throw new IllegalArgumentException("Minimum Spanning Tree needs an undirected graph");
+        }
+        int n = graph.nodeCount();
+        if (n == 0) return new int[0];
+        int m = graph.edgeCount();
+        int[] edgeIds = new int[m];
+        for (int e = 0; e < m; e++) {
+            edgeIds[e] = e;
+        }
+
+        IntUnionFind unionFind = new IntUnionFind(n);
+        int[] mst = new int[Math.max(0, n - 1)];
+        int size = strategy == Strategy.SORT
+                ? kruskal(graph, edgeIds, 0, m, unionFind, mst, 0)
+                : filterKruskal(graph, edgeIds, 0, m, unionFind, mst, 0);
+
+        if (size != n - 1) {
+            throw new IllegalStateException("Could not build a Minimum Spanning Tree");
+        }
+
+        return mst;
+    }
+
+    // Sorts edgeIds[from, to) by weight and accepts edges until the tree is complete, returns the new mst size
+    private static int kruskal(CsrGraph<?> graph, int[] edgeIds, int from, int to,
+                               IntUnionFind unionFind, int[] mst, int size) {
+        sortByWeight(graph, edgeIds, from, to);
+        for (int i = from; i < to && size < mst.length; i++) {
+            int edgeId = edgeIds[i];
+            if (unionFind.union(graph.edgeFrom(edgeId), graph.edgeTo(edgeId))) {
+                mst[size++] = edgeId;
+            }
+        }
+        return size;
+    }
+
+    private static int filterKruskal(CsrGraph<?> graph, int[] edgeIds, int from, int to,
+                                     IntUnionFind unionFind, int[] mst, int size) {
+        // Loop on the heavy half instead of recursing, the recursion depth then only follows the light halves
+        while (size < mst.length) {
+            if (to - from <= FILTER_BASE_CASE) {
+                return kruskal(graph, edgeIds, from, to, unionFind, mst, size);
+            }
+            long pivot = pivotWeight(graph, edgeIds, from, to);
+            int mid = partition(graph, edgeIds, from, to, pivot, true);
+            if (mid == to) {
+                // Pivot is the largest weight, split off the edges equal to it instead
+                mid = partition(graph, edgeIds, from, to, pivot, false);
+                if (mid == from) {
+                    return kruskal(graph, edgeIds, from, to, unionFind, mst, size);
+                }
+            }
+            size = filterKruskal(graph, edgeIds, from, mid, unionFind, mst, size);
+            from = filter(graph, edgeIds, mid, to, unionFind);
+        }
+        return size;
+    }
+
+    // Median of three random weights in the range
+    private static long pivotWeight(CsrGraph<?> graph, int[] edgeIds, int from, int to) {
+        ThreadLocalRandom random = ThreadLocalRandom.current();
+        long a = graph.edgeWeight(edgeIds[random.nextInt(from, to)]);
+        long b = graph.edgeWeight(edgeIds[random.nextInt(from, to)]);
+        long c = graph.edgeWeight(edgeIds[random.nextInt(from, to)]);
+        return Math.max(Math.min(a, b), Math.min(Math.max(a, b), c));
+    }
+
+    // Moves edges with weight <= pivot (< pivot when not inclusive) to the front, returns where the rest starts
+    private static int partition(CsrGraph<?> graph, int[] edgeIds, int from, int to, long pivot, boolean inclusive) {
+        int i = from;
+        for (int j = from; j < to; j++) {
+            long weight = graph.edgeWeight(edgeIds[j]);
+            if (weight < pivot || (inclusive && weight == pivot)) {
+                int tmp = edgeIds[i];
+                edgeIds[i++] = edgeIds[j];
+                edgeIds[j] = tmp;
+            }
+        }
+        return i;
+    }
+
+    // Drops edges inside a single component from edgeIds[from, to), keeps the others packed at the end of the range,
+    // returns the new start of the range
+    private static int filter(CsrGraph<?> graph, int[] edgeIds, int from, int to, IntUnionFind unionFind) {
+        int keep = to;
+        for (int i = to - 1; i >= from; i--) {
+            int edgeId = edgeIds[i];
+            if (unionFind.find(graph.edgeFrom(edgeId)) != unionFind.find(graph.edgeTo(edgeId))) {
+                edgeIds[--keep] = edgeId;
+            }
+        }
+        return keep;
+    }
+
+    /**
+     * Sorts edgeIds[from, to) by weight with one primitive long sort. Each key packs the weight above the edge id,
+     * as an offset from the smallest weight when the spread fits, otherwise as the weight's rank in the range.
+     */
+    private static void sortByWeight(CsrGraph<?> graph, int[] edgeIds, int from, int to) {
+        int length = to - from;
+        if (length < 2) return;
+        long min = Long.MAX_VALUE;
+        long max = Long.MIN_VALUE;
+        for (int i = from; i < to; i++) {
+            long weight = graph.edgeWeight(edgeIds[i]);
+            min = Math.min(min, weight);
+            max = Math.max(max, weight);
+        }
+
+        int idBits = 32 - Integer.numberOfLeadingZeros(graph.edgeCount() - 1);
+        long[] keys = new long[length];
+        // max - min wraps for spreads above Long.MAX_VALUE, but then it is negative and takes all 64 bits
+        int weightBits = 64 - Long.numberOfLeadingZeros(max - min);
+        if (weightBits + idBits <= 63) {
+            for (int i = 0; i < length; i++) {
+                int edgeId = edgeIds[from + i];
+                keys[i] = ((graph.edgeWeight(edgeId) - min) << idBits) | edgeId;
+            }
+        } else {
+            long[] weights = new long[length];
+            for (int i = 0; i < length; i++) {
+                weights[i] = graph.edgeWeight(edgeIds[from + i]);
+            }
+            sort(weights);
+            for (int i = 0; i < length; i++) {
+                int edgeId = edgeIds[from + i];
+                // Equal weights may get different ranks, that only changes how ties are broken
+                long rank = Arrays.binarySearch(weights, graph.edgeWeight(edgeId));
+                keys[i] = (rank << idBits) | edgeId;
+            }
+        }
+        sort(keys);
+
+        long idMask = (1L << idBits) - 1;
+        for (int i = 0; i < length; i++) {
+            edgeIds[from + i] = (int) (keys[i] & idMask);
+        }
+    }
+
+    private static void sort(long[] keys) {
+        if (keys.length >= PARALLEL_SORT_THRESHOLD) {
+            Arrays.parallelSort(keys);
+        } else {
+            Arrays.sort(keys);
+        }
+    }
 }
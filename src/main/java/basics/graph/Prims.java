@@ -1,68 +1,66 @@
 package basics.graph;
 
+import basics.IndexedHeap;
+
 import java.util.ArrayList;
 import java.util.Comparator;
 import java.util.HashMap;
 import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
-import java.util.PriorityQueue;
 import java.util.Set;
 
+/**
+ * Prims MST
+ *   - Generic over the weight type through a comparator, like Kruskal
+ *   - Static CsrGraph versions are one-off wrappers around CsrPrims, which compares primitive long keys
+ *     (long weights, or order keys of double weights) and reuses its scratch arrays across runs
+ */
 public class Prims<T> {
 
-    private final Map<GraphNode<Integer>, List<AdjNode>> graph;
+    private final Map<GraphNode<T>, List<AdjNode<T>>> graph;
+    private final Comparator<T> weightComparator;
 
-    public Prims(List<GraphEdge<Integer>> edges) {
+    public Prims(List<GraphEdge<T>> edges, Comparator<T> weightComparator) {
         this.graph = buildGraph(edges);
+        this.weightComparator = weightComparator;
     }
 
-    public Set<GraphEdge<Integer>> buildMST() {
-        Map<GraphNode<Integer>, Integer> distanceMap = new HashMap<>();
-        PriorityQueue<QueueRecord> queue = new PriorityQueue<>(Comparator.comparingInt(QueueRecord::distance));
-
-        // init initial state and pick the first node
-        boolean startingNode = false;
-        for(GraphNode<Integer> node: graph.keySet()) {
-            int distance = Integer.MAX_VALUE;
-            distanceMap.putIfAbsent(node, distance);
-            if (!startingNode) {
-                distance = 0;
-                distanceMap.put(node, distance);
-                startingNode = true;
-            }
-            queue.offer(new QueueRecord(null, node, distance));
-        }
+    public Set<GraphEdge<T>> buildMST() {
+        // Cheapest known edge connecting each node to the tree, keyed by the edge weight.
+        // Nodes only enter the queue once reached, so no "infinite" weight is needed.
+        Map<GraphNode<T>, GraphEdge<T>> parentMap = new HashMap<>();
+        IndexedHeap<GraphNode<T>, T> queue = new IndexedHeap<>(weightComparator);
+        Set<GraphNode<T>> inTree = new HashSet<>();
 
-        // Process nodes greedily based on curr distance from starting node
-        Set<GraphNode<Integer>> mstNodes = new HashSet<>();
-        Set<GraphEdge<Integer>> mst = new HashSet<>();
-        while (!queue.isEmpty()) {
-            QueueRecord top = queue.poll();
-            GraphNode<Integer> parent = top.parent();
-            GraphNode<Integer> node = top.node();
-            int currDist = top.distance();
+        Set<GraphEdge<T>> mst = new HashSet<>();
+        if (graph.isEmpty()) return mst;
 
-            // Already part of MST
-            if (mstNodes.contains(node)) continue;
+        // Start from any node, its key is never compared
+        GraphNode<T> start = graph.keySet().iterator().next();
+        queue.add(start, graph.get(start).get(0).edge().weight());
+
+        // Process nodes greedily based on the cheapest edge into the current tree
+        while (!queue.isEmpty()) {
+            GraphNode<T> node = queue.remove();
+            inTree.add(node);
 
             // Add to MST
-            mstNodes.add(node);
+            GraphEdge<T> parent = parentMap.get(node);
             if (parent != null) {
-                for (AdjNode adjNode: graph.get(parent)) {
-                    if (adjNode.node().equals(node)) {
-                        mst.add(new GraphEdge<>(adjNode.weight(), parent, node));
-                        break;
-                    }
-                }
+                mst.add(parent);
             }
 
-            // Relax the adj node distances
-            for (AdjNode adj: graph.get(node)) {
-                int adjDist = distanceMap.get(adj.node());
-                if (adjDist > currDist + adj.weight()) {
-                    distanceMap.put(adj.node(), currDist + adj.weight());
-                    queue.offer(new QueueRecord(node, adj.node(), distanceMap.get(adj.node())));
+            // Relax the adj node distances, nodes already in the tree are skipped
+            for (AdjNode<T> adj: graph.get(node)) {
+                T weight = adj.edge().weight();
+                if (inTree.contains(adj.node())) continue;
+                if (!queue.contains(adj.node())) {
+                    queue.add(adj.node(), weight);
+                    parentMap.put(adj.node(), adj.edge());
+                } else if (weightComparator.compare(queue.getKey(adj.node()), weight) > 0) {
+                    queue.decreaseKey(adj.node(), weight);
+                    parentMap.put(adj.node(), adj.edge());
                 }
             }
         }
@@ -74,20 +72,39 @@ public class Prims<T> {
         return mst;
     }
 
-    private Map<GraphNode<Integer>, List<AdjNode>> buildGraph(List<GraphEdge<Integer>> edges) {
+    /**
+     * Prims over a CsrGraph: node ids in an IndexedIntHeap keyed by the cheapest edge into the tree.
+     * The returned edges are the input edges, not copies.
+     */
+    public static <T> Set<GraphEdge<T>> buildMST(CsrGraph<T> graph) {
+        Set<GraphEdge<T>> mst = new HashSet<>();
+        for (int edgeId: mstEdgeIds(graph)) {
+            mst.add(graph.edge(edgeId));
+        }
+        return mst;
+    }
+
+    /**
+     * Edge ids of a minimum spanning tree of the CsrGraph, in the order they joined the tree.
+     * One-off convenience, use a CsrPrims instance to reuse the scratch arrays across runs.
+     */
+    public static int[] mstEdgeIds(CsrGraph<?> graph) {
+        return new CsrPrims<>(graph).mstEdgeIds();
+    }
+
+    private Map<GraphNode<T>, List<AdjNode<T>>> buildGraph(List<GraphEdge<T>> edges) {
         // Build Graph from edges
-        Map<GraphNode<Integer>, List<AdjNode>> graph = new HashMap<>();
-        for (GraphEdge<Integer> e: edges) {
-            GraphNode<Integer> from = e.from();
-            GraphNode<Integer> to = e.to();
+        Map<GraphNode<T>, List<AdjNode<T>>> graph = new HashMap<>();
+        for (GraphEdge<T> e: edges) {
+            GraphNode<T> from = e.from();
+            GraphNode<T> to = e.to();
             graph.putIfAbsent(from, new ArrayList<>());
             graph.putIfAbsent(to, new ArrayList<>());
-            graph.get(from).add(new AdjNode(to, e.weight()));
-            graph.get(to).add(new AdjNode(from, e.weight()));
+            graph.get(from).add(new AdjNode<>(to, e));
+            graph.get(to).add(new AdjNode<>(from, e));
         }
         return graph;
     }
 
-    private record AdjNode(GraphNode<Integer> node, int weight) {};
-    private record QueueRecord(GraphNode<Integer> parent, GraphNode<Integer> node, int distance){};
+    private record AdjNode<T>(GraphNode<T> node, GraphEdge<T> edge) {};
 }